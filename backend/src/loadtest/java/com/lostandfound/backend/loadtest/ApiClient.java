@@ -0,0 +1,136 @@
+package com.lostandfound.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Blocking client for the endpoints the workload uses. Any non-2xx answer
+ * is thrown as an IOException and counted as an error.
+ */
+class ApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final HttpClient http;
+    private final ObjectMapper json = new ObjectMapper();
+
+    ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .build();
+    }
+
+    boolean isReady() {
+        try {
+            return send(get("/actuator/health/readiness")).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /** Returns the new user's id. */
+    String register(String username) throws IOException {
+        String body = json.writeValueAsString(Map.of(
+                "username", username,
+                "password", "secret",
+                "email", username + "@loadtest.local"));
+        return json.readTree(expectOk(send(postJson("/api/auth/register", body)))).get("id").asText();
+    }
+
+    void getPosts() throws IOException {
+        expectOk(send(get("/api/posts")));
+    }
+
+    /** Returns the server-side path of the stored image. */
+    String uploadImage(byte[] image) throws IOException {
+        return expectOk(send(postMultipart("/api/posts/upload-image", image)));
+    }
+
+    String createPost(Map<String, Object> post) throws IOException {
+        JsonNode created = json.readTree(expectOk(send(postJson("/api/posts", json.writeValueAsString(post)))));
+        return created.get("id").asText();
+    }
+
+    void searchByImage(byte[] image) throws IOException {
+        expectOk(send(postMultipart("/api/search/image", image)));
+    }
+
+    void sendMessage(String chatId, String senderId, String content) throws IOException {
+        String body = json.writeValueAsString(Map.of(
+                "content", content,
+                "sender", Map.of("id", senderId)));
+        expectOk(send(postJson("/api/chat/" + chatId + "/messages", body)));
+    }
+
+    void getMessages(String chatId) throws IOException {
+        expectOk(send(get("/api/chat/" + chatId + "/messages")));
+    }
+
+    void forgotPassword(String email) throws IOException {
+        expectOk(send(postJson("/api/auth/forgot-password", json.writeValueAsString(Map.of("email", email)))));
+    }
+
+    void verifyOtp(String email, String otp) throws IOException {
+        String body = json.writeValueAsString(Map.of("email", email, "otp", otp));
+        expectOk(send(postJson("/api/auth/verify-otp", body)));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT).GET().build();
+    }
+
+    private HttpRequest postJson(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest postMultipart(String path, byte[] file) throws IOException {
+        String boundary = UUID.randomUUID().toString();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(file.length + 256);
+        body.write(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"image.jpg\"\r\n"
+                + "Content-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(file);
+        body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        }
+    }
+
+    private static String expectOk(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(response.request().method() + " " + response.request().uri().getPath()
+                    + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+}
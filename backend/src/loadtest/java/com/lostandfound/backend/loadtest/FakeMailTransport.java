@@ -0,0 +1,42 @@
+package com.lostandfound.backend.loadtest;
+
+import com.lostandfound.backend.service.MailTransport;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Swallows outgoing mail instead of calling SendGrid, counts it and keeps
+ * the last message per recipient so the workload can read OTPs back.
+ */
+class FakeMailTransport implements MailTransport {
+
+    // EmailService puts the code in <div class='otp-box'>
+    private static final Pattern OTP = Pattern.compile("otp-box'>(\\d+)<");
+
+    private final AtomicInteger sent = new AtomicInteger();
+    private final Map<String, String> lastMessage = new ConcurrentHashMap<>();
+
+    @Override
+    public void send(String toEmail, String subject, String htmlContent) {
+        lastMessage.put(toEmail, htmlContent);
+        sent.incrementAndGet();
+    }
+
+    /** The OTP in the last mail to this address, or null. */
+    String otpSentTo(String email) {
+        String html = lastMessage.get(email);
+        if (html == null) {
+            return null;
+        }
+        Matcher matcher = OTP.matcher(html);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    int getSent() {
+        return sent.get();
+    }
+}
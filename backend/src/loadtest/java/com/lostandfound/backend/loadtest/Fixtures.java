@@ -0,0 +1,106 @@
+package com.lostandfound.backend.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Data the workload draws from: seeded users and chats, a pool of
+ * deterministic image payloads, and the files uploaded during the run so
+ * they can be removed afterwards.
+ */
+class Fixtures {
+
+    // New Delhi; created posts scatter around it
+    private static final double CENTER_LAT = 28.6139;
+    private static final double CENTER_LNG = 77.2090;
+    private static final int IMAGE_BYTES = 16 * 1024;
+
+    private final List<String> userIds = new ArrayList<>();
+    // One per virtual user, so concurrent resets never replace each other's OTP
+    private final List<String> resetEmails = new ArrayList<>();
+    private final List<List<String>> chats = new ArrayList<>();
+    private final List<byte[]> images = new ArrayList<>();
+    private final List<String> uploads = Collections.synchronizedList(new ArrayList<>());
+
+    Fixtures(int imageCount, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < imageCount; i++) {
+            byte[] image = new byte[IMAGE_BYTES];
+            for (int j = 0; j < image.length; j++) {
+                image[j] = (byte) random.nextInt(256);
+            }
+            images.add(image);
+        }
+    }
+
+    void addUser(String userId) {
+        userIds.add(userId);
+    }
+
+    void addResetEmail(String email) {
+        resetEmails.add(email);
+    }
+
+    /** The account virtual user n resets, or null if none were seeded. */
+    String resetEmail(int index) {
+        return index < resetEmails.size() ? resetEmails.get(index) : null;
+    }
+
+    void addChat(String chatId, String user1Id, String user2Id) {
+        chats.add(List.of(chatId, user1Id, user2Id));
+    }
+
+    void uploaded(String path) {
+        uploads.add(path);
+    }
+
+    String userId(int index) {
+        return userIds.get(index);
+    }
+
+    int userCount() {
+        return userIds.size();
+    }
+
+    /** [chatId, user1Id, user2Id] */
+    List<String> chat(int index) {
+        return chats.get(index);
+    }
+
+    int chatCount() {
+        return chats.size();
+    }
+
+    byte[] image(int index) {
+        return images.get(index);
+    }
+
+    int imageCount() {
+        return images.size();
+    }
+
+    double centerLat() {
+        return CENTER_LAT;
+    }
+
+    double centerLng() {
+        return CENTER_LNG;
+    }
+
+    void deleteUploads() {
+        synchronized (uploads) {
+            for (String path : uploads) {
+                try {
+                    Files.deleteIfExists(Paths.get(path));
+                } catch (IOException e) {
+                    System.err.println("Could not delete " + path + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+}
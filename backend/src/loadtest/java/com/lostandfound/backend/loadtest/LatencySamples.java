@@ -0,0 +1,58 @@
+package com.lostandfound.backend.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of one operation, in nanoseconds. Each virtual user keeps its
+ * own instance, so recording needs no locking; they are merged at the end.
+ */
+class LatencySamples {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private int errors;
+
+    void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    void recordError() {
+        errors++;
+    }
+
+    void addAll(LatencySamples other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.samples[i]);
+        }
+        errors += other.errors;
+    }
+
+    int count() {
+        return count;
+    }
+
+    int errors() {
+        return errors;
+    }
+
+    /**
+     * Nearest-rank percentiles in milliseconds, one per requested percentile;
+     * all 0 when there are no samples.
+     */
+    double[] percentilesMs(double... percentiles) {
+        double[] result = new double[percentiles.length];
+        if (count == 0) {
+            return result;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        for (int i = 0; i < percentiles.length; i++) {
+            int rank = (int) Math.ceil(percentiles[i] / 100.0 * count);
+            result[i] = sorted[Math.max(1, Math.min(count, rank)) - 1] / 1_000_000.0;
+        }
+        return result;
+    }
+}
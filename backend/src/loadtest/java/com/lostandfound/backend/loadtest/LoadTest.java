@@ -0,0 +1,225 @@
+package com.lostandfound.backend.loadtest;
+
+import com.lostandfound.backend.BackendApplication;
+import com.lostandfound.backend.model.Chat;
+import com.lostandfound.backend.model.User;
+import com.lostandfound.backend.repository.ChatRepository;
+import com.lostandfound.backend.repository.UserRepository;
+import com.lostandfound.backend.service.MailTransport;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Self-contained load test. Boots the backend against an in-memory Mongo
+ * (mongo-java-server), a {@link StubEmbedServer} in place of the AI
+ * service and a {@link FakeMailTransport} in place of SendGrid, seeds
+ * users, chats and posts, then drives a weighted mix of feed, create,
+ * image-search and chat requests from closed-loop virtual users.
+ *
+ * <pre>
+ * mvn -Ploadtest compile exec:java -Dexec.args="--users=32 --duration=60s"
+ * </pre>
+ *
+ * Prints throughput and latency percentiles per operation; --csv=file also
+ * writes them as CSV. --profile=reactive runs the same workload against the
+ * WebFlux stack.
+ */
+public class LoadTest {
+
+    private static final double[] PERCENTILES = { 50, 90, 99, 100 };
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+
+        MongoServer mongo = new MongoServer(new MemoryBackend());
+        InetSocketAddress mongoAddress = mongo.bind();
+        StubEmbedServer embedServer = new StubEmbedServer(options.embedLatencyMs);
+        embedServer.start();
+        FakeMailTransport mail = new FakeMailTransport();
+
+        ConfigurableApplicationContext context = null;
+        Fixtures fixtures = new Fixtures(options.images, options.seed);
+        try {
+            context = startBackend(options, mongoAddress, embedServer, mail);
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            ApiClient api = new ApiClient("http://localhost:" + port);
+
+            awaitReadiness(api);
+            seed(options, context, api, fixtures);
+
+            System.out.printf("Running %d users for %ds after %ds warm-up (seed %d)%n", options.users,
+                    options.duration.toSeconds(), options.warmUp.toSeconds(), options.seed);
+            Map<Operation, LatencySamples> results = run(options, api, fixtures, mail);
+            report(options, results);
+            System.out.printf("Mail captured by the fake transport: %d%n", mail.getSent());
+        } finally {
+            fixtures.deleteUploads();
+            if (context != null) {
+                context.close();
+            }
+            embedServer.stop();
+            mongo.shutdownNow();
+        }
+    }
+
+    private static ConfigurableApplicationContext startBackend(Options options, InetSocketAddress mongoAddress,
+            StubEmbedServer embedServer, MailTransport mail) {
+        // Command line arguments, so they win over application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.data.mongodb.uri=mongodb://" + mongoAddress.getHostString() + ":"
+                        + mongoAddress.getPort() + "/khojsetu",
+                "--ai.service.url=" + embedServer.url(),
+                "--mail.transport=fake",
+                "--logging.level.org.springframework.data.mongodb=WARN",
+                "--logging.level.com.lostandfound.backend=INFO"));
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BackendApplication.class)
+                .initializers((ApplicationContextInitializer<GenericApplicationContext>) context -> context
+                        .registerBean(MailTransport.class, () -> mail));
+        if (options.profile != null) {
+            builder.profiles(options.profile);
+        }
+        return builder.run(args.toArray(new String[0]));
+    }
+
+    private static void awaitReadiness(ApiClient api) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!api.isReady()) {
+            if (System.nanoTime() > deadline) {
+                System.err.println("Backend not ready after 30s, running anyway");
+                return;
+            }
+            Thread.sleep(200);
+        }
+    }
+
+    private static void seed(Options options, ConfigurableApplicationContext context, ApiClient api,
+            Fixtures fixtures) throws IOException {
+        for (int i = 0; i < options.seedUsers; i++) {
+            fixtures.addUser(api.register("loadtest-user-" + i));
+        }
+
+        // There is no endpoint that opens a chat, so chats go straight to the repository
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ChatRepository chatRepository = context.getBean(ChatRepository.class);
+        SplittableRandom random = new SplittableRandom(options.seed);
+        for (int i = 0; i < options.seedChats; i++) {
+            int first = random.nextInt(fixtures.userCount());
+            int second = (first + 1 + random.nextInt(fixtures.userCount() - 1)) % fixtures.userCount();
+            User user1 = userRepository.findById(fixtures.userId(first)).orElseThrow();
+            User user2 = userRepository.findById(fixtures.userId(second)).orElseThrow();
+            Chat chat = chatRepository.save(new Chat(null, user1, user2, null, LocalDateTime.now()));
+            fixtures.addChat(chat.getId(), user1.getId(), user2.getId());
+        }
+
+        if (options.mix.containsKey(Operation.RESET)) {
+            for (int i = 0; i < options.users; i++) {
+                String username = "loadtest-reset-" + i;
+                api.register(username);
+                fixtures.addResetEmail(username + "@loadtest.local");
+            }
+        }
+
+        VirtualUser seeder = new VirtualUser(api, fixtures, null, null, Map.of(Operation.CREATE, 1), options.seed, 0,
+                0);
+        for (int i = 0; i < options.seedPosts; i++) {
+            if (!seeder.execute(Operation.CREATE)) {
+                throw new IOException("Seeding posts failed");
+            }
+        }
+        System.out.printf("Seeded %d users, %d chats, %d posts%n", fixtures.userCount(), fixtures.chatCount(),
+                options.seedPosts);
+    }
+
+    private static Map<Operation, LatencySamples> run(Options options, ApiClient api, Fixtures fixtures,
+            FakeMailTransport mail) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmUp.toNanos();
+        long deadline = measureFrom + options.duration.toNanos();
+
+        List<VirtualUser> users = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < options.users; i++) {
+            VirtualUser user = new VirtualUser(api, fixtures, mail, fixtures.resetEmail(i), options.mix,
+                    options.seed + 1 + i, measureFrom, deadline);
+            Thread thread = new Thread(user, "vu-" + i);
+            users.add(user);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Map<Operation, LatencySamples> merged = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            LatencySamples samples = new LatencySamples();
+            users.forEach(user -> samples.addAll(user.getSamples().get(operation)));
+            merged.put(operation, samples);
+        }
+        return merged;
+    }
+
+    private static void report(Options options, Map<Operation, LatencySamples> results) throws IOException {
+        double seconds = options.duration.toNanos() / 1e9;
+        LatencySamples total = new LatencySamples();
+        List<String[]> rows = new ArrayList<>();
+
+        for (Operation operation : Operation.values()) {
+            LatencySamples samples = results.get(operation);
+            if (samples.count() + samples.errors() == 0) {
+                continue;
+            }
+            total.addAll(samples);
+            rows.add(row(operation.name().toLowerCase(Locale.ROOT), samples, seconds));
+        }
+        rows.add(row("total", total, seconds));
+
+        String format = "%-8s %9s %7s %10s %9s %9s %9s %9s%n";
+        System.out.printf(format, "op", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (String[] row : rows) {
+            System.out.printf(format, (Object[]) row);
+        }
+
+        if (options.csv != null) {
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(options.csv)))) {
+                out.println("op,requests,errors,req_per_s,p50_ms,p90_ms,p99_ms,max_ms");
+                for (String[] row : rows) {
+                    out.println(String.join(",", row));
+                }
+            }
+        }
+    }
+
+    private static String[] row(String name, LatencySamples samples, double seconds) {
+        double[] percentiles = samples.percentilesMs(PERCENTILES);
+        return new String[] {
+                name,
+                String.valueOf(samples.count()),
+                String.valueOf(samples.errors()),
+                String.format(Locale.ROOT, "%.1f", samples.count() / seconds),
+                String.format(Locale.ROOT, "%.1f", percentiles[0]),
+                String.format(Locale.ROOT, "%.1f", percentiles[1]),
+                String.format(Locale.ROOT, "%.1f", percentiles[2]),
+                String.format(Locale.ROOT, "%.1f", percentiles[3]) };
+    }
+}
@@ -0,0 +1,17 @@
+package com.lostandfound.backend.loadtest;
+
+/**
+ * The request types a virtual user picks from, weighted by --mix.
+ */
+enum Operation {
+    /** GET /api/posts */
+    FEED,
+    /** POST /api/posts/upload-image, then POST /api/posts */
+    CREATE,
+    /** POST /api/search/image */
+    SEARCH,
+    /** POST /api/chat/{id}/messages, then GET /api/chat/{id}/messages */
+    CHAT,
+    /** POST /api/auth/forgot-password, then POST /api/auth/verify-otp with the mailed code */
+    RESET
+}
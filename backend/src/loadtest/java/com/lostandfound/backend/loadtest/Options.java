@@ -0,0 +1,82 @@
+package com.lostandfound.backend.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command line options, all given as --name=value.
+ */
+class Options {
+
+    int users = 16;
+    Duration warmUp = Duration.ofSeconds(5);
+    Duration duration = Duration.ofSeconds(30);
+    long seed = 42;
+    Map<Operation, Integer> mix = parseMix("feed:58,create:15,search:10,chat:15,reset:2");
+    int seedUsers = 20;
+    int seedPosts = 100;
+    int seedChats = 20;
+    int images = 32;
+    long embedLatencyMs = 0;
+    String profile;
+    String csv;
+
+    static Options parse(String[] args) {
+        Options options = new Options();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "users" -> options.users = Integer.parseInt(value);
+                case "warmup" -> options.warmUp = parseDuration(value);
+                case "duration" -> options.duration = parseDuration(value);
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "mix" -> options.mix = parseMix(value);
+                case "seed-users" -> options.seedUsers = Integer.parseInt(value);
+                case "seed-posts" -> options.seedPosts = Integer.parseInt(value);
+                case "seed-chats" -> options.seedChats = Integer.parseInt(value);
+                case "images" -> options.images = Integer.parseInt(value);
+                case "embed-latency-ms" -> options.embedLatencyMs = Long.parseLong(value);
+                case "profile" -> options.profile = value;
+                case "csv" -> options.csv = value;
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        if (options.users < 1 || options.seedUsers < 2 || options.images < 1) {
+            throw new IllegalArgumentException("Need at least 1 user, 2 seed users and 1 image");
+        }
+        return options;
+    }
+
+    /** "feed:60,create:15" - weights need not add up to 100. */
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            mix.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Mix needs a positive weight");
+        }
+        return mix;
+    }
+
+    /** "30s", "2m" or plain seconds. */
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+}
@@ -0,0 +1,150 @@
+package com.lostandfound.backend.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+
+/**
+ * Stand-in for the Python AI service. POST /embed answers like the real one,
+ * { "vector": [...], "message": "..." }, with a unit-length 512-dim vector
+ * seeded from a SHA-256 of the uploaded file. The same image therefore
+ * always gets the same vector.
+ */
+class StubEmbedServer {
+
+    static final int DIMENSIONS = 512;
+
+    private final HttpServer server;
+    private final long latencyMs;
+
+    StubEmbedServer(long latencyMs) throws IOException {
+        this.latencyMs = latencyMs;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/embed", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "stub-embed");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    void start() {
+        server.start();
+    }
+
+    void stop() {
+        server.stop(0);
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    static double[] vectorFor(byte[] image) {
+        SplittableRandom random = new SplittableRandom(seed(image));
+        double[] vector = new double[DIMENSIONS];
+        double norm = 0;
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = random.nextDouble(-1, 1);
+            norm += vector[i] * vector[i];
+        }
+        norm = Math.sqrt(norm);
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] /= norm;
+        }
+        return vector;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            byte[] file = filePart(body, exchange.getRequestHeaders().getFirst("Content-Type"));
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+
+            double[] vector = vectorFor(file);
+            StringBuilder json = new StringBuilder(DIMENSIONS * 24).append("{\"vector\":[");
+            for (int i = 0; i < vector.length; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append(vector[i]);
+            }
+            json.append("],\"message\":\"Embedding generated\"}");
+
+            byte[] response = json.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Content of the first multipart part. The boundary differs per request,
+     * so hashing the whole body would not be deterministic.
+     */
+    private static byte[] filePart(byte[] body, String contentType) {
+        int boundaryAt = contentType == null ? -1 : contentType.indexOf("boundary=");
+        if (boundaryAt < 0) {
+            return body;
+        }
+        String boundary = contentType.substring(boundaryAt + "boundary=".length()).replace("\"", "");
+        byte[] delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+
+        int start = indexOf(body, "\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1), 0);
+        if (start < 0) {
+            return body;
+        }
+        start += 4;
+        int end = indexOf(body, delimiter, start);
+        if (end < 0) {
+            end = body.length;
+        }
+        byte[] file = new byte[end - start];
+        System.arraycopy(body, start, file, 0, file.length);
+        return file;
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern, int from) {
+        outer: for (int i = from; i <= data.length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static long seed(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            long seed = 0;
+            for (int i = 0; i < 8; i++) {
+                seed = (seed << 8) | (digest[i] & 0xff);
+            }
+            return seed;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.lostandfound.backend.loadtest;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * One closed-loop client: picks an operation by weight, runs it, records
+ * its latency once the warm-up is over, and repeats until the deadline.
+ * Its random stream is derived from the run seed, so the sequence of
+ * operations is the same on every run.
+ */
+class VirtualUser implements Runnable {
+
+    private static final String[] CATEGORIES = { "Electronics", "Wallet", "Keys", "Documents", "Pets", "Bags" };
+
+    private final ApiClient api;
+    private final Fixtures fixtures;
+    private final FakeMailTransport mail;
+    private final String resetEmail;
+    private final Map<Operation, Integer> mix;
+    private final int totalWeight;
+    private final SplittableRandom random;
+    private final long measureFromNanos;
+    private final long deadlineNanos;
+    private final Map<Operation, LatencySamples> samples = new EnumMap<>(Operation.class);
+
+    VirtualUser(ApiClient api, Fixtures fixtures, FakeMailTransport mail, String resetEmail,
+            Map<Operation, Integer> mix, long seed, long measureFromNanos, long deadlineNanos) {
+        this.api = api;
+        this.fixtures = fixtures;
+        this.mail = mail;
+        this.resetEmail = resetEmail;
+        this.mix = mix;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.random = new SplittableRandom(seed);
+        this.measureFromNanos = measureFromNanos;
+        this.deadlineNanos = deadlineNanos;
+        for (Operation operation : Operation.values()) {
+            samples.put(operation, new LatencySamples());
+        }
+    }
+
+    @Override
+    public void run() {
+        while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+            Operation operation = pick();
+            long start = System.nanoTime();
+            boolean ok = execute(operation);
+            long end = System.nanoTime();
+
+            if (start >= measureFromNanos && end <= deadlineNanos) {
+                if (ok) {
+                    samples.get(operation).record(end - start);
+                } else {
+                    samples.get(operation).recordError();
+                }
+            }
+        }
+    }
+
+    Map<Operation, LatencySamples> getSamples() {
+        return samples;
+    }
+
+    boolean execute(Operation operation) {
+        try {
+            switch (operation) {
+                case FEED -> api.getPosts();
+                case CREATE -> createPost();
+                case SEARCH -> api.searchByImage(fixtures.image(random.nextInt(fixtures.imageCount())));
+                case CHAT -> chat();
+                case RESET -> resetPassword();
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void createPost() throws IOException {
+        String imagePath = api.uploadImage(fixtures.image(random.nextInt(fixtures.imageCount())));
+        fixtures.uploaded(imagePath);
+
+        Map<String, Object> location = new HashMap<>();
+        location.put("lat", fixtures.centerLat() + random.nextDouble(-0.2, 0.2));
+        location.put("lng", fixtures.centerLng() + random.nextDouble(-0.2, 0.2));
+        location.put("name", "Load test");
+
+        String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+        Map<String, Object> post = new HashMap<>();
+        post.put("title", category + " " + random.nextInt(10_000));
+        post.put("description", "Created by the load test");
+        post.put("type", random.nextBoolean() ? "LOST" : "FOUND");
+        post.put("category", category);
+        post.put("imageUrl", imagePath);
+        post.put("location", location);
+        post.put("userId", fixtures.userId(random.nextInt(fixtures.userCount())));
+        post.put("contactInfo", "loadtest@loadtest.local");
+        api.createPost(post);
+    }
+
+    private void chat() throws IOException {
+        List<String> chat = fixtures.chat(random.nextInt(fixtures.chatCount()));
+        String chatId = chat.get(0);
+        String senderId = chat.get(1 + random.nextInt(2));
+        api.sendMessage(chatId, senderId, "Is this still available? #" + random.nextInt(10_000));
+        api.getMessages(chatId);
+    }
+
+    private void resetPassword() throws IOException {
+        api.forgotPassword(resetEmail);
+        String otp = mail.otpSentTo(resetEmail);
+        if (otp == null) {
+            throw new IOException("No OTP mailed to " + resetEmail);
+        }
+        api.verifyOtp(resetEmail, otp);
+    }
+
+    private Operation pick() {
+        int roll = random.nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+}
@@ -0,0 +1,22 @@
+package com.lostandfound.backend.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Beans for the "reactive" profile (WebFlux on Netty + reactive Mongo).
+ * The reactive Mongo template cannot resolve {@code @DBRef}; entities that
+ * have references are read through ReactiveReferenceLoader.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    // Tomcat is on the classpath too; without this WebFlux would run on it
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -5,12 +5,14 @@ import com.lostandfound.backend.model.Message;
 import com.lostandfound.backend.repository.ChatRepository;
 import com.lostandfound.backend.repository.MessageRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/chat")
 @CrossOrigin(origins = "*")
+@Profile("!reactive")
 public class ChatController {
 
     @Autowired
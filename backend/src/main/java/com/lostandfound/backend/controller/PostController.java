@@ -1,21 +1,40 @@
 package com.lostandfound.backend.controller;
 
 import com.lostandfound.backend.model.Post;
+import com.lostandfound.backend.service.LiveFeedService;
 import com.lostandfound.backend.service.PostService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/posts")
 @CrossOrigin(origins = "*")
+@Profile("!reactive")
 public class PostController {
 
+    // EventSource clients reconnect on their own once this runs out
+    private static final long LIVE_FEED_TIMEOUT_MS = 30 * 60 * 1000;
+    // Posts held for a live feed client that is not keeping up
+    private static final int LIVE_FEED_BUFFER = 64;
+
     @Autowired
     private PostService postService;
 
+    @Autowired
+    private LiveFeedService liveFeedService;
+
     @Autowired
     private com.lostandfound.backend.repository.UserRepository userRepository;
 
@@ -24,26 +43,43 @@ public class PostController {
         return postService.getAllPosts();
     }
 
-    @PostMapping
-    public Post createPost(@RequestBody com.lostandfound.backend.dto.PostDTO postDTO) {
-        Post post = new Post();
-        post.setTitle(postDTO.getTitle());
-        post.setDescription(postDTO.getDescription());
+    // Server-sent events for each new post within radiusKm of (lat, lng)
+    @GetMapping(value = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter livePosts(@RequestParam double lat, @RequestParam double lng,
+            @RequestParam(defaultValue = "5") double radiusKm) {
         try {
-            post.setType(Post.PostType.valueOf(postDTO.getType()));
-        } catch (IllegalArgumentException | NullPointerException e) {
-            post.setType(Post.PostType.LOST); // Default
-        }
-        post.setCategory(postDTO.getCategory());
-        post.setContactInfo(postDTO.getContactInfo());
-        post.setImageUrl(postDTO.getImageUrl());
-
-        if (postDTO.getLocation() != null) {
-            post.setLocation(new org.springframework.data.mongodb.core.geo.GeoJsonPoint(
-                    postDTO.getLocation().getLng(),
-                    postDTO.getLocation().getLat()));
+            LiveFeedService.validate(lat, lng, radiusKm);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
 
+        SseEmitter emitter = new SseEmitter(LIVE_FEED_TIMEOUT_MS);
+        // Writes block, so they run off the event bus thread; a client that stops reading
+        // only fills its own queue, which drops the oldest posts when full
+        ThreadPoolExecutor sender = new ThreadPoolExecutor(0, 1, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(LIVE_FEED_BUFFER), new ThreadPoolExecutor.DiscardOldestPolicy());
+        Runnable unsubscribe = liveFeedService.subscribe(lat, lng, radiusKm, post -> sender.execute(() -> {
+            try {
+                emitter.send(SseEmitter.event().id(post.getId()).name("post").data(post));
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+        }));
+
+        Runnable close = () -> {
+            unsubscribe.run();
+            sender.shutdownNow();
+        };
+        emitter.onCompletion(close);
+        emitter.onTimeout(close);
+        emitter.onError(e -> close.run());
+        return emitter;
+    }
+
+    @PostMapping
+    public Post createPost(@RequestBody com.lostandfound.backend.dto.PostDTO postDTO) {
+        Post post = postService.fromDto(postDTO);
+
         if (postDTO.getUserId() != null && !postDTO.getUserId().equals("guest")) {
             com.lostandfound.backend.model.User user = userRepository.findById(postDTO.getUserId())
                     .orElseThrow(() -> new RuntimeException("User not found"));
@@ -55,7 +91,6 @@ public class PostController {
         return postService.savePost(post);
     }
 
-    @PostMapping("/upload-image")
     @PostMapping("/upload-image")
     public String uploadImage(@RequestParam("file") MultipartFile file) {
         try {
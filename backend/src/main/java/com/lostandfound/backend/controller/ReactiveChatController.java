@@ -0,0 +1,59 @@
+package com.lostandfound.backend.controller;
+
+import com.lostandfound.backend.model.Chat;
+import com.lostandfound.backend.model.Message;
+import com.lostandfound.backend.repository.ReactiveMessageRepository;
+import com.lostandfound.backend.service.ReactiveReferenceLoader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.NoSuchElementException;
+
+/**
+ * WebFlux version of {@link ChatController}, served with the "reactive" profile.
+ */
+@RestController
+@RequestMapping("/api/chat")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+public class ReactiveChatController {
+
+    @Autowired
+    private ReactiveMessageRepository messageRepository;
+
+    @Autowired
+    private ReactiveReferenceLoader referenceLoader;
+
+    // Get all chats for a user
+    @GetMapping
+    public Flux<Chat> getMyChats(@RequestParam String userId) {
+        Object id = ReactiveReferenceLoader.toId(userId);
+        return referenceLoader.findChats(new Query(new Criteria().orOperator(
+                Criteria.where("user1.$id").is(id),
+                Criteria.where("user2.$id").is(id))));
+    }
+
+    // Get messages for a specific chat
+    @GetMapping("/{chatId}/messages")
+    public Flux<Message> getChatMessages(@PathVariable String chatId) {
+        return referenceLoader.findMessages(
+                new Query(Criteria.where("chat.$id").is(ReactiveReferenceLoader.toId(chatId))));
+    }
+
+    @PostMapping("/{chatId}/messages")
+    public Mono<Message> sendMessage(@PathVariable String chatId, @RequestBody Message message) {
+        // In real app: Verify user is part of chat
+        return referenceLoader.findChats(new Query(Criteria.where("_id").is(ReactiveReferenceLoader.toId(chatId))))
+                .next()
+                .switchIfEmpty(Mono.error(new NoSuchElementException("No value present")))
+                .flatMap(chat -> {
+                    message.setChat(chat);
+                    return messageRepository.save(message);
+                });
+    }
+}
@@ -0,0 +1,113 @@
+package com.lostandfound.backend.controller;
+
+import com.lostandfound.backend.dto.PostDTO;
+import com.lostandfound.backend.model.Post;
+import com.lostandfound.backend.repository.ReactivePostRepository;
+import com.lostandfound.backend.repository.ReactiveUserRepository;
+import com.lostandfound.backend.service.LiveFeedService;
+import com.lostandfound.backend.service.PostService;
+import com.lostandfound.backend.service.PostStatsService;
+import com.lostandfound.backend.service.ReactiveReferenceLoader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * WebFlux version of {@link PostController}, served with the "reactive" profile.
+ */
+@RestController
+@RequestMapping("/api/posts")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+public class ReactivePostController {
+
+    // Posts held for a live feed client that is not keeping up
+    private static final int LIVE_FEED_BUFFER = 64;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private ReactivePostRepository postRepository;
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Autowired
+    private LiveFeedService liveFeedService;
+
+    @Autowired
+    private PostStatsService postStatsService;
+
+    @Autowired
+    private ReactiveReferenceLoader referenceLoader;
+
+    @GetMapping
+    public Flux<Post> getAllPosts() {
+        return referenceLoader.findPosts(new Query());
+    }
+
+    // Server-sent events for each new post within radiusKm of (lat, lng)
+    @GetMapping(value = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Post>> livePosts(@RequestParam double lat, @RequestParam double lng,
+            @RequestParam(defaultValue = "5") double radiusKm) {
+        try {
+            LiveFeedService.validate(lat, lng, radiusKm);
+        } catch (IllegalArgumentException e) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()));
+        }
+
+        Flux<Post> posts = Flux.create(sink -> {
+            Runnable unsubscribe = liveFeedService.subscribe(lat, lng, radiusKm, sink::next);
+            sink.onDispose(unsubscribe::run);
+        });
+        // A client that is not keeping up gets the newest posts; older ones are dropped
+        return posts.onBackpressureBuffer(LIVE_FEED_BUFFER, dropped -> { }, BufferOverflowStrategy.DROP_OLDEST)
+                .map(post -> ServerSentEvent.builder(post).id(post.getId()).event("post").build());
+    }
+
+    @PostMapping
+    public Mono<Post> createPost(@RequestBody PostDTO postDTO) {
+        if (postDTO.getUserId() == null || postDTO.getUserId().equals("guest")) {
+            return Mono.error(new RuntimeException("Authentication required to post"));
+        }
+
+        Post post = postService.fromDto(postDTO);
+        return userRepository.findById(postDTO.getUserId())
+                .switchIfEmpty(Mono.error(new RuntimeException("User not found")))
+                .flatMap(user -> {
+                    post.setUser(user);
+                    // Embedding and matching run asynchronously off the PostCreated event
+                    return postRepository.save(post);
+                })
+                .flatMap(saved -> Mono.fromRunnable(() -> postStatsService.record(saved))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .thenReturn(saved));
+    }
+
+    @PostMapping("/upload-image")
+    public Mono<String> uploadImage(@RequestPart("file") FilePart file) {
+        // Save file to a local directory (simple implementation for MVP)
+        Path uploadDir = Paths.get("uploads/");
+        Path filePath = uploadDir.resolve(System.currentTimeMillis() + "_" + file.filename());
+
+        return Mono.fromCallable(() -> Files.createDirectories(uploadDir))
+                .then(file.transferTo(filePath))
+                .thenReturn(filePath.toAbsolutePath().toString())
+                .onErrorReturn("https://via.placeholder.com/300?text=UploadFailed");
+    }
+}
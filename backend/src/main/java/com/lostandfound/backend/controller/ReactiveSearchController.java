@@ -0,0 +1,103 @@
+package com.lostandfound.backend.controller;
+
+import com.lostandfound.backend.model.Post;
+import com.lostandfound.backend.search.ClusterSecret;
+import com.lostandfound.backend.search.LocalShardStore;
+import com.lostandfound.backend.search.PartitionQuery;
+import com.lostandfound.backend.search.ScoredPost;
+import com.lostandfound.backend.search.SearchRouter;
+import com.lostandfound.backend.service.PostService;
+import com.lostandfound.backend.service.ReactiveEmbeddingClient;
+import com.lostandfound.backend.service.ReactiveReferenceLoader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * WebFlux version of {@link SearchController}, served with the "reactive" profile.
+ * Clients sending {@code Accept: text/event-stream} get each result as its own
+ * server-sent event.
+ */
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+public class ReactiveSearchController {
+
+    @Autowired
+    private ReactiveEmbeddingClient embeddingClient;
+
+    @Autowired
+    private ReactiveReferenceLoader referenceLoader;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private LocalShardStore localShardStore;
+
+    @Autowired
+    private ClusterSecret clusterSecret;
+
+    @PostMapping("/image")
+    public Flux<Post> searchByImage(@RequestPart("file") FilePart file,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            SearchRouter.validateArea(lat, lng, radiusKm);
+        } catch (IllegalArgumentException e) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()));
+        }
+        return embeddingClient.embed(file)
+                .map(Optional::of)
+                .onErrorResume(e -> {
+                    System.err.println("AI Service unavailable: " + e.getMessage());
+                    return Mono.empty();
+                })
+                .defaultIfEmpty(Optional.empty())
+                .flatMapMany(embedding -> embedding
+                        // Ranking merges results from the partitioned index; keep it off the event loop
+                        .map(vector -> Mono.fromCallable(() -> postService.findSimilar(vector, lat, lng, radiusKm, limit))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .flatMapIterable(posts -> posts))
+                        .orElseGet(() -> referenceLoader.findPosts(new Query())));
+    }
+
+    @PostMapping(value = "/image", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Post>> streamSearchByImage(@RequestPart("file") FilePart file,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(defaultValue = "20") int limit) {
+        return searchByImage(file, lat, lng, radiusKm, limit)
+                .map(post -> ServerSentEvent.builder(post).id(post.getId()).event("result").build());
+    }
+
+    // Called by SearchRouter on other instances for the partitions this one owns
+    @PostMapping("/partitions")
+    public Mono<ResponseEntity<List<ScoredPost>>> searchPartitions(
+            @RequestHeader(value = ClusterSecret.HEADER, required = false) String secret,
+            @RequestBody PartitionQuery query) {
+        if (!clusterSecret.matches(secret)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+        }
+        query.setLimit(Math.max(1, Math.min(query.getLimit(), PartitionQuery.MAX_LIMIT)));
+        return Mono.fromCallable(() -> ResponseEntity.ok(localShardStore.search(query)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
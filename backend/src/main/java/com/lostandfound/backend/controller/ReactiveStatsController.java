@@ -0,0 +1,70 @@
+package com.lostandfound.backend.controller;
+
+import com.lostandfound.backend.model.Post;
+import com.lostandfound.backend.service.PostStatsService;
+import com.lostandfound.backend.service.StatsBackfillJob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * WebFlux version of {@link StatsController}, served with the "reactive" profile.
+ * The stats query uses the blocking MongoTemplate, so it runs on the
+ * bounded-elastic scheduler instead of the event loop.
+ */
+@RestController
+@RequestMapping("/api/stats")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+public class ReactiveStatsController {
+
+    @Autowired
+    private PostStatsService postStatsService;
+
+    @Autowired
+    private StatsBackfillJob statsBackfillJob;
+
+    @GetMapping
+    public Mono<ResponseEntity<?>> getStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String bucket,
+            @RequestParam(defaultValue = "0") int precision,
+            @RequestParam(required = false) String geohash,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String type) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+
+        return Mono.<ResponseEntity<?>>fromCallable(() -> ResponseEntity.ok(postStatsService.query(start, end,
+                        PostStatsService.Bucket.valueOf(bucket.toUpperCase(Locale.ROOT)), precision, geohash, category,
+                        type != null ? Post.PostType.valueOf(type.toUpperCase(Locale.ROOT)) : null)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().body(Map.of("error", e.getMessage()))));
+    }
+
+    // Only starts a background thread, so it is fine on the event loop
+    @PostMapping("/backfill")
+    public ResponseEntity<?> backfill(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate until) {
+        LocalDate today = LocalDate.now();
+        if (until != null && until.isAfter(today)) {
+            // Recounting today would overwrite the live increments
+            return ResponseEntity.badRequest().body(Map.of("error", "until must not be after " + today));
+        }
+        if (!statsBackfillJob.start(until != null ? until : today)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", "Backfill already running"));
+        }
+        return ResponseEntity.accepted().body(Map.of("message", "Backfill started"));
+    }
+}
@@ -1,24 +1,60 @@
 package com.lostandfound.backend.controller;
 
 import com.lostandfound.backend.model.Post;
+import com.lostandfound.backend.search.ClusterSecret;
+import com.lostandfound.backend.search.LocalShardStore;
+import com.lostandfound.backend.search.PartitionQuery;
+import com.lostandfound.backend.search.ScoredPost;
+import com.lostandfound.backend.search.SearchRouter;
 import com.lostandfound.backend.service.PostService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.io.IOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/search")
 @CrossOrigin(origins = "*")
+@Profile("!reactive")
 public class SearchController {
 
     @Autowired
     private PostService postService;
 
+    @Autowired
+    private LocalShardStore localShardStore;
+
+    @Autowired
+    private ClusterSecret clusterSecret;
+
     @PostMapping("/image")
-    public List<Post> searchByImage(@RequestParam("file") MultipartFile file) throws IOException {
-        return postService.searchByImage(file);
+    public List<Post> searchByImage(@RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            SearchRouter.validateArea(lat, lng, radiusKm);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return postService.searchByImage(file, lat, lng, radiusKm, limit);
+    }
+
+    // Called by SearchRouter on other instances for the partitions this one owns
+    @PostMapping("/partitions")
+    public ResponseEntity<List<ScoredPost>> searchPartitions(
+            @RequestHeader(value = ClusterSecret.HEADER, required = false) String secret,
+            @RequestBody PartitionQuery query) {
+        if (!clusterSecret.matches(secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        query.setLimit(Math.max(1, Math.min(query.getLimit(), PartitionQuery.MAX_LIMIT)));
+        return ResponseEntity.ok(localShardStore.search(query));
     }
 }
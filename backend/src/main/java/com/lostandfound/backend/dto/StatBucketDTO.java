@@ -0,0 +1,16 @@
+package com.lostandfound.backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatBucketDTO {
+    private String period; // 2026-10-19, 2026-W42 or 2026-10
+    private String geohash;
+    private String category;
+    private long lost;
+    private long found;
+}
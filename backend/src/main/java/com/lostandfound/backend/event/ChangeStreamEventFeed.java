@@ -0,0 +1,105 @@
+package com.lostandfound.backend.event;
+
+import com.lostandfound.backend.model.Message;
+import com.lostandfound.backend.model.Post;
+import com.mongodb.MongoServerException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import org.bson.BsonDocument;
+import org.bson.BsonInvalidOperationException;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.json.JsonParseException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Reads events from a MongoDB change stream. Requires a replica set or a
+ * sharded cluster; the resume token is the change stream's own token.
+ */
+class ChangeStreamEventFeed implements EventFeed {
+
+    // InvalidResumeToken, ChangeStreamFatalError, ChangeStreamHistoryLost
+    private static final Set<Integer> UNRESUMABLE_CODES = Set.of(260, 280, 286);
+
+    private final MongoTemplate mongoTemplate;
+    private final Class<? extends DomainEvent> type;
+    private final MongoCursor<ChangeStreamDocument<Document>> cursor;
+
+    ChangeStreamEventFeed(MongoTemplate mongoTemplate, Class<? extends DomainEvent> type, String resumeToken,
+            long maxAwaitMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.type = type;
+
+        ChangeStreamIterable<Document> stream = mongoTemplate.getCollection(collectionFor(type))
+                .watch(List.of(Aggregates.match(filterFor(type))))
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(maxAwaitMs, TimeUnit.MILLISECONDS);
+        if (resumeToken != null) {
+            try {
+                stream = stream.resumeAfter(BsonDocument.parse(resumeToken));
+            } catch (JsonParseException | BsonInvalidOperationException e) {
+                throw new InvalidResumeTokenException("Not a change stream token: " + resumeToken, e);
+            }
+        }
+        this.cursor = checkResumable(stream::cursor);
+    }
+
+    @Override
+    public DomainEvent next() {
+        ChangeStreamDocument<Document> change = checkResumable(cursor::tryNext);
+        if (change == null || change.getFullDocument() == null) {
+            // Nothing new, or the document was deleted before the lookup
+            return null;
+        }
+
+        String token = change.getResumeToken().toJson();
+        Document document = change.getFullDocument();
+        if (type == PostCreated.class) {
+            return new PostCreated(token, mongoTemplate.getConverter().read(Post.class, document));
+        }
+        if (type == EmbeddingReady.class) {
+            return new EmbeddingReady(token, mongoTemplate.getConverter().read(Post.class, document));
+        }
+        return new MessageSent(token, mongoTemplate.getConverter().read(Message.class, document));
+    }
+
+    @Override
+    public void close() {
+        cursor.close();
+    }
+
+    // Raised by the server when it cannot resume from the token, e.g. once the oplog has rolled past it
+    private static <R> R checkResumable(Supplier<R> call) {
+        try {
+            return call.get();
+        } catch (MongoServerException e) {
+            if (UNRESUMABLE_CODES.contains(e.getCode())) {
+                throw new InvalidResumeTokenException("Cannot resume change stream: " + e.getMessage(), e);
+            }
+            throw e;
+        }
+    }
+
+    private static String collectionFor(Class<? extends DomainEvent> type) {
+        return type == MessageSent.class ? "messages" : "posts";
+    }
+
+    private static Bson filterFor(Class<? extends DomainEvent> type) {
+        if (type == EmbeddingReady.class) {
+            // EmbeddingService writes the vector with a partial $set, which shows up as an update
+            return Filters.and(
+                    Filters.eq("operationType", "update"),
+                    Filters.exists("updateDescription.updatedFields.embedding"));
+        }
+        return Filters.eq("operationType", "insert");
+    }
+}
@@ -0,0 +1,10 @@
+package com.lostandfound.backend.event;
+
+/**
+ * An event delivered by the {@link EventBus}. The resume token marks the
+ * position of the event in its source feed, so a consumer that stores it can
+ * pick up right after this event on restart.
+ */
+public interface DomainEvent {
+    String getResumeToken();
+}
@@ -0,0 +1,407 @@
+package com.lostandfound.backend.event;
+
+import com.lostandfound.backend.model.EventDeadLetter;
+import com.lostandfound.backend.model.EventOffset;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.client.result.UpdateResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers {@link PostCreated}, {@link MessageSent} and {@link EmbeddingReady}
+ * events to consumers off the request path.
+ *
+ * Each subscription runs on its own thread with its own feed, so a slow
+ * consumer never holds up another one. Events come from MongoDB change
+ * streams, or from {@link PollingEventFeed} when Mongo runs standalone.
+ * Durable subscriptions store the resume token of every handled event in
+ * {@code event_offsets} and continue from it after a restart. A stored
+ * offset written by the other kind of feed, or one the server can no longer
+ * resume from, is logged and dropped, and the consumer starts from now.
+ *
+ * A handler that throws is retried with backoff, so delivery is
+ * at-least-once and handlers should be idempotent. Failures that can clear
+ * up (a dependency that is down or overloaded) are retried until they
+ * succeed; any other failure is retried up to {@code events.max-attempts}
+ * times, and a 4xx from a called service not at all, before the event is
+ * written to {@code event_dead_letters} and skipped.
+ *
+ * With several replicas, each durable consumer runs on one of them at a
+ * time: the replica holds a lease on the consumer's {@code event_offsets}
+ * document, renewed whenever it stores an offset and at least every third
+ * of {@code events.lease-ms}. The others check back and take over once the
+ * lease lapses or is released on shutdown, continuing from the stored
+ * offset. Listeners registered with {@link #listen} run on every replica.
+ */
+@Service
+public class EventBus {
+
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // auto, change-stream or polling
+    @Value("${events.source:auto}")
+    private String source;
+
+    @Value("${events.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${events.poll-lookback-ms:5000}")
+    private long pollLookbackMs;
+
+    @Value("${events.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${events.lease-ms:30000}")
+    private long leaseMs;
+
+    // Holder of durable consumer leases; unique per process unless configured
+    @Value("${events.instance-id:}")
+    private String instanceId;
+
+    private final List<Subscription<?>> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+    private Boolean changeStreams;
+
+    @PostConstruct
+    public void init() {
+        if (instanceId == null || instanceId.isBlank()) {
+            String host = System.getenv().getOrDefault("HOSTNAME", "instance");
+            instanceId = host + "-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+    }
+
+    /**
+     * Registers a durable consumer. The name keys its stored resume token and
+     * must stay stable across releases.
+     */
+    public <T extends DomainEvent> void subscribe(String consumer, Class<T> type, Consumer<T> handler) {
+        register(new Subscription<>(consumer, type, handler, true));
+    }
+
+    /**
+     * Registers a consumer that only needs events from now on, such as
+     * per-instance in-memory state. Nothing is stored for it.
+     */
+    public <T extends DomainEvent> void listen(Class<T> type, Consumer<T> handler) {
+        register(new Subscription<>("listener-" + type.getSimpleName() + "-" + subscriptions.size(), type, handler,
+                false));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        running = true;
+        subscriptions.forEach(this::startThread);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        subscriptions.forEach(s -> {
+            if (s.thread != null) {
+                s.thread.interrupt();
+            }
+        });
+        // Lets another replica take over without waiting for the leases to lapse
+        releaseLeases();
+    }
+
+    private synchronized void register(Subscription<?> subscription) {
+        subscriptions.add(subscription);
+        if (running) {
+            startThread(subscription);
+        }
+    }
+
+    private void startThread(Subscription<?> subscription) {
+        if (subscription.thread != null) {
+            return;
+        }
+        Thread thread = new Thread(() -> run(subscription), "event-bus-" + subscription.name);
+        thread.setDaemon(true);
+        subscription.thread = thread;
+        thread.start();
+    }
+
+    private <T extends DomainEvent> void run(Subscription<T> subscription) {
+        String token = null;
+        long backoff = pollIntervalMs;
+        while (running) {
+            if (subscription.durable) {
+                EventOffset offset = acquireLease(subscription.name);
+                if (offset == null) {
+                    // Another replica runs this consumer; take over if its lease lapses
+                    if (!sleep(leaseMs / 2)) {
+                        return;
+                    }
+                    continue;
+                }
+                token = offset.getResumeToken();
+                if (token != null && offset.getSource() != null && !offset.getSource().equals(feedKind())) {
+                    System.err.println("Stored position for " + subscription.name + " is from the "
+                            + offset.getSource() + " feed, starting " + feedKind() + " from now");
+                    token = null;
+                }
+            }
+
+            try (EventFeed feed = openFeed(subscription.type, token)) {
+                long renewedAt = System.currentTimeMillis();
+                while (running) {
+                    DomainEvent event = feed.next();
+                    if (event == null) {
+                        if (subscription.durable && System.currentTimeMillis() - renewedAt > leaseMs / 3) {
+                            storeOffset(subscription.name, null);
+                            renewedAt = System.currentTimeMillis();
+                        }
+                        continue;
+                    }
+                    deliver(subscription, event);
+                    token = event.getResumeToken();
+                    if (subscription.durable) {
+                        storeOffset(subscription.name, token);
+                        renewedAt = System.currentTimeMillis();
+                    }
+                    backoff = pollIntervalMs;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (InvalidResumeTokenException e) {
+                System.err.println("Cannot resume " + subscription.name + ", starting from now: " + e.getMessage());
+                token = null;
+                if (subscription.durable) {
+                    clearOffset(subscription.name);
+                }
+            } catch (LeaseLostException e) {
+                System.err.println("Lost lease on " + subscription.name + ", another replica took over");
+            } catch (Exception e) {
+                System.err.println("Event feed for " + subscription.name + " failed, reopening: " + e.getMessage());
+                if (!sleep(backoff)) {
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+
+    /**
+     * Takes or renews this instance's lease on a durable consumer and returns
+     * its offset, or null if another instance holds a current lease.
+     */
+    private EventOffset acquireLease(String consumer) {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(Criteria.where("consumer").is(consumer).orOperator(
+                Criteria.where("owner").is(instanceId),
+                Criteria.where("owner").is(null),
+                Criteria.where("leaseUntil").lt(now)));
+        Update update = new Update()
+                .set("owner", instanceId)
+                .set("leaseUntil", now.plusNanos(leaseMs * 1_000_000));
+        try {
+            return mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), EventOffset.class);
+        } catch (DuplicateKeyException e) {
+            // The document exists and the lease is someone else's
+            return null;
+        }
+    }
+
+    // Stores the offset (null only renews the lease); fails if the lease was lost
+    private void storeOffset(String consumer, String token) {
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .set("updatedAt", now)
+                .set("leaseUntil", now.plusNanos(leaseMs * 1_000_000));
+        if (token != null) {
+            update.set("resumeToken", token).set("source", feedKind());
+        }
+        UpdateResult result = mongoTemplate.updateFirst(
+                new Query(Criteria.where("consumer").is(consumer).and("owner").is(instanceId)), update,
+                EventOffset.class);
+        if (result.getMatchedCount() == 0) {
+            throw new LeaseLostException();
+        }
+    }
+
+    private void clearOffset(String consumer) {
+        try {
+            mongoTemplate.updateFirst(new Query(Criteria.where("consumer").is(consumer).and("owner").is(instanceId)),
+                    new Update().unset("resumeToken").unset("source"), EventOffset.class);
+        } catch (RuntimeException e) {
+            System.err.println("Could not clear offset of " + consumer + ": " + e.getMessage());
+        }
+    }
+
+    private void releaseLeases() {
+        for (Subscription<?> subscription : subscriptions) {
+            if (!subscription.durable) {
+                continue;
+            }
+            try {
+                mongoTemplate.updateFirst(
+                        new Query(Criteria.where("consumer").is(subscription.name).and("owner").is(instanceId)),
+                        new Update().unset("owner").unset("leaseUntil"), EventOffset.class);
+            } catch (RuntimeException e) {
+                System.err.println("Could not release lease on " + subscription.name + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private <T extends DomainEvent> void deliver(Subscription<T> subscription, DomainEvent event)
+            throws InterruptedException {
+        long backoff = pollIntervalMs;
+        int attempts = 0;
+        while (true) {
+            try {
+                subscription.handler.accept(subscription.type.cast(event));
+                return;
+            } catch (RuntimeException e) {
+                attempts++;
+                if (!isTransient(e) && (isPermanent(e) || attempts >= maxAttempts)) {
+                    deadLetter(subscription, event, e, attempts);
+                    return;
+                }
+                System.err.println("Consumer " + subscription.name + " failed on " + event.getResumeToken()
+                        + " (attempt " + attempts + "), retrying: " + e.getMessage());
+            }
+            if (subscription.durable) {
+                // A long outage must not let the lease lapse while this replica still holds the event
+                storeOffset(subscription.name, null);
+            }
+            if (!running || !sleep(backoff)) {
+                // Offset not stored, so the event is delivered again after restart
+                throw new InterruptedException("Event bus stopped");
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+        }
+    }
+
+    private void deadLetter(Subscription<?> subscription, DomainEvent event, RuntimeException error, int attempts) {
+        System.err.println("Consumer " + subscription.name + " gave up on " + event.getResumeToken() + " after "
+                + attempts + " attempt(s): " + error);
+        try {
+            String documentId = event instanceof MessageSent sent ? sent.getMessage().getId()
+                    : event instanceof PostCreated created ? created.getPost().getId()
+                    : ((EmbeddingReady) event).getPost().getId();
+            mongoTemplate.insert(new EventDeadLetter(null, subscription.name, event.getClass().getSimpleName(),
+                    documentId, event.getResumeToken(), String.valueOf(error), attempts, LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            System.err.println("Could not store dead letter for " + subscription.name + ": " + e.getMessage());
+        }
+    }
+
+    // Dependency unreachable, overloaded or briefly failing over
+    private static boolean isTransient(Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            if (e instanceof ResourceAccessException
+                    || e instanceof DataAccessResourceFailureException
+                    || e instanceof MongoSocketException
+                    || e instanceof MongoTimeoutException) {
+                return true;
+            }
+            if (e instanceof HttpStatusCodeException http) {
+                int status = http.getStatusCode().value();
+                return status == 429 || status == 502 || status == 503 || status == 504;
+            }
+        }
+        return false;
+    }
+
+    // The same event would fail the same way, e.g. an image the AI service rejects
+    private static boolean isPermanent(Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            if (e instanceof RestClientResponseException response && response.getStatusCode().is4xxClientError()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private EventFeed openFeed(Class<? extends DomainEvent> type, String token) {
+        if (useChangeStreams()) {
+            return new ChangeStreamEventFeed(mongoTemplate, type, token, pollIntervalMs);
+        }
+        return new PollingEventFeed(mongoTemplate, type, token, pollIntervalMs, pollLookbackMs);
+    }
+
+    // Stored with each offset; a token only means something to the feed that wrote it
+    private String feedKind() {
+        return useChangeStreams() ? "change-stream" : "polling";
+    }
+
+    private synchronized boolean useChangeStreams() {
+        if (changeStreams == null) {
+            if ("change-stream".equals(source)) {
+                changeStreams = true;
+            } else if ("polling".equals(source)) {
+                changeStreams = false;
+            } else {
+                changeStreams = supportsChangeStreams();
+            }
+            System.out.println("Event bus using " + (changeStreams ? "change streams" : "polling"));
+        }
+        return changeStreams;
+    }
+
+    private boolean supportsChangeStreams() {
+        try {
+            Document hello = mongoTemplate.executeCommand("{ hello: 1 }");
+            return hello.containsKey("setName") || "isdbgrid".equals(hello.getString("msg"));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static class LeaseLostException extends RuntimeException {
+    }
+
+    private static class Subscription<T extends DomainEvent> {
+        private final String name;
+        private final Class<T> type;
+        private final Consumer<T> handler;
+        private final boolean durable;
+        private volatile Thread thread;
+
+        Subscription(String name, Class<T> type, Consumer<T> handler, boolean durable) {
+            this.name = name;
+            this.type = type;
+            this.handler = handler;
+            this.durable = durable;
+        }
+    }
+}
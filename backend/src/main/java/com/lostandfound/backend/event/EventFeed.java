@@ -0,0 +1,16 @@
+package com.lostandfound.backend.event;
+
+/**
+ * A cursor over one kind of {@link DomainEvent}, opened at a resume token.
+ */
+interface EventFeed extends AutoCloseable {
+
+    /**
+     * Returns the next event, or null if nothing arrived within the feed's
+     * wait interval.
+     */
+    DomainEvent next() throws InterruptedException;
+
+    @Override
+    void close();
+}
@@ -0,0 +1,13 @@
+package com.lostandfound.backend.event;
+
+/**
+ * Thrown by an {@link EventFeed} whose resume token cannot be used: it was
+ * written by the other kind of feed, is malformed, or points to history the
+ * server no longer has.
+ */
+class InvalidResumeTokenException extends RuntimeException {
+
+    InvalidResumeTokenException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
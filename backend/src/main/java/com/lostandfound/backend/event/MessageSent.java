@@ -0,0 +1,10 @@
+package com.lostandfound.backend.event;
+
+import com.lostandfound.backend.model.Message;
+import lombok.Value;
+
+@Value
+public class MessageSent implements DomainEvent {
+    String resumeToken;
+    Message message;
+}
@@ -0,0 +1,186 @@
+package com.lostandfound.backend.event;
+
+import com.lostandfound.backend.model.Message;
+import com.lostandfound.backend.model.Post;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fallback for standalone MongoDB, where change streams are not available.
+ * Pages through the source collection by (timestamp, id), so a batch of
+ * documents sharing a timestamp never holds the feed in place. Once caught
+ * up, each poll also sweeps a short lookback window behind the position for
+ * documents whose timestamp was taken slightly before they were written;
+ * ids already delivered in this feed are skipped. The resume token is the
+ * position, {@code <timestamp>|<id>}.
+ */
+class PollingEventFeed implements EventFeed {
+
+    private static final int BATCH_SIZE = 500;
+    // Enough to remember every document in the lookback window under heavy load
+    private static final int SEEN_CAPACITY = 20 * BATCH_SIZE;
+
+    private final MongoTemplate mongoTemplate;
+    private final Class<? extends DomainEvent> type;
+    private final long intervalMs;
+    private final long lookbackMs;
+
+    private final Deque<DomainEvent> pending = new ArrayDeque<>();
+    private final Map<String, Boolean> seen = new LinkedHashMap<>(SEEN_CAPACITY, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > SEEN_CAPACITY;
+        }
+    };
+
+    // Last document read in order; positionId is null until the first one
+    private LocalDateTime position;
+    private String positionId;
+
+    // Progress of the current lookback sweep, null between sweeps
+    private LocalDateTime sweepPosition;
+    private String sweepId;
+
+    PollingEventFeed(MongoTemplate mongoTemplate, Class<? extends DomainEvent> type, String resumeToken,
+            long intervalMs, long lookbackMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.type = type;
+        this.intervalMs = intervalMs;
+        this.lookbackMs = lookbackMs;
+
+        if (resumeToken == null) {
+            // Mongo stores milliseconds
+            position = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        } else {
+            int separator = resumeToken.indexOf('|');
+            try {
+                position = LocalDateTime.parse(separator < 0 ? resumeToken : resumeToken.substring(0, separator));
+            } catch (DateTimeParseException e) {
+                throw new InvalidResumeTokenException("Not a polling position: " + resumeToken, e);
+            }
+            positionId = separator < 0 ? null : resumeToken.substring(separator + 1);
+        }
+    }
+
+    @Override
+    public DomainEvent next() throws InterruptedException {
+        if (pending.isEmpty()) {
+            poll();
+        }
+        if (pending.isEmpty()) {
+            Thread.sleep(intervalMs);
+            return null;
+        }
+        return pending.poll();
+    }
+
+    @Override
+    public void close() {
+        pending.clear();
+    }
+
+    private void poll() {
+        String field = timestampField();
+
+        List<?> page = find(after(field, position, positionId));
+        for (Object document : page) {
+            position = timestampOf(document);
+            positionId = idOf(document);
+            enqueue(document);
+        }
+        if (page.size() == BATCH_SIZE) {
+            // Still catching up; documents past the position come first
+            return;
+        }
+
+        if (sweepPosition == null) {
+            sweepPosition = position.minusNanos(lookbackMs * 1_000_000);
+            sweepId = null;
+        }
+        List<?> late = find(new Criteria().andOperator(
+                after(field, sweepPosition, sweepId),
+                Criteria.where(field).lte(position)));
+        for (Object document : late) {
+            sweepPosition = timestampOf(document);
+            sweepId = idOf(document);
+            enqueue(document);
+        }
+        if (late.size() < BATCH_SIZE) {
+            sweepPosition = null;
+        }
+    }
+
+    private List<?> find(Criteria criteria) {
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, timestampField(), "id"))
+                .limit(BATCH_SIZE);
+        return mongoTemplate.find(query, type == MessageSent.class ? Message.class : Post.class);
+    }
+
+    /**
+     * Documents after (timestamp, id) in (timestamp, id) order; without an id,
+     * every document at the timestamp is included.
+     */
+    private static Criteria after(String field, LocalDateTime timestamp, String id) {
+        if (id == null) {
+            return Criteria.where(field).gte(timestamp);
+        }
+        return new Criteria().orOperator(
+                Criteria.where(field).gt(timestamp),
+                new Criteria().andOperator(Criteria.where(field).is(timestamp), Criteria.where("id").gt(id)));
+    }
+
+    private void enqueue(Object document) {
+        String id = idOf(document);
+        LocalDateTime timestamp = timestampOf(document);
+        // Events from the lookback sweep carry the current position, which only
+        // covers documents already queued ahead of them
+        String token = positionId != null ? position + "|" + positionId : position.toString();
+
+        DomainEvent event;
+        String key = id;
+        if (type == MessageSent.class) {
+            event = new MessageSent(token, (Message) document);
+        } else if (type == PostCreated.class) {
+            event = new PostCreated(token, (Post) document);
+        } else {
+            // A post embedded again is a new event
+            key = id + "@" + timestamp;
+            event = new EmbeddingReady(token, (Post) document);
+        }
+
+        if (seen.put(key, Boolean.TRUE) == null) {
+            pending.add(event);
+        }
+    }
+
+    private LocalDateTime timestampOf(Object document) {
+        if (document instanceof Message message) {
+            return message.getSentAt();
+        }
+        Post post = (Post) document;
+        return type == EmbeddingReady.class ? post.getEmbeddedAt() : post.getCreatedAt();
+    }
+
+    private static String idOf(Object document) {
+        return document instanceof Message message ? message.getId() : ((Post) document).getId();
+    }
+
+    private String timestampField() {
+        if (type == MessageSent.class) {
+            return "sentAt";
+        }
+        return type == EmbeddingReady.class ? "embeddedAt" : "createdAt";
+    }
+}
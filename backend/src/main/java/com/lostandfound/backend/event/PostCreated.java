@@ -0,0 +1,10 @@
+package com.lostandfound.backend.event;
+
+import com.lostandfound.backend.model.Post;
+import lombok.Value;
+
+@Value
+public class PostCreated implements DomainEvent {
+    String resumeToken;
+    Post post;
+}
@@ -0,0 +1,108 @@
+package com.lostandfound.backend.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Circular-area subscriptions bucketed by geohash cell.
+ *
+ * A subscription is stored under the cells covering its circle, at the
+ * finest precision where that takes at most {@link #MAX_CELLS} cells, so
+ * small areas land in small cells and large areas in large ones. Matching a
+ * point looks up one bucket per precision in use (each a prefix of the
+ * point's geohash) and only distance-checks the subscribers in those
+ * buckets. Safe for concurrent use.
+ */
+public class GeoSubscriptionIndex<T> {
+
+    static final int MAX_PRECISION = 7;
+    static final int MAX_CELLS = 16;
+
+    private final Map<String, Set<Subscription<T>>> buckets = new ConcurrentHashMap<>();
+    // Subscriptions per precision, so matching skips levels nobody uses
+    private final AtomicIntegerArray levels = new AtomicIntegerArray(MAX_PRECISION + 1);
+
+    public Subscription<T> subscribe(double lat, double lng, double radiusMeters, T subscriber) {
+        int precision = precisionFor(lat, lng, radiusMeters);
+        Subscription<T> subscription = new Subscription<>(lat, lng, radiusMeters, subscriber, precision,
+                Geohash.cover(lat, lng, radiusMeters, precision));
+
+        for (String cell : subscription.cells) {
+            buckets.compute(cell, (key, set) -> {
+                Set<Subscription<T>> bucket = set != null ? set : ConcurrentHashMap.newKeySet();
+                bucket.add(subscription);
+                return bucket;
+            });
+        }
+        levels.incrementAndGet(precision);
+        return subscription;
+    }
+
+    public void unsubscribe(Subscription<T> subscription) {
+        if (!subscription.removed.compareAndSet(false, true)) {
+            return;
+        }
+        for (String cell : subscription.cells) {
+            buckets.computeIfPresent(cell, (key, set) -> {
+                set.remove(subscription);
+                return set.isEmpty() ? null : set;
+            });
+        }
+        levels.decrementAndGet(subscription.precision);
+    }
+
+    /** Subscribers whose area contains the point. */
+    public List<T> match(double lat, double lng) {
+        String hash = Geohash.encode(lat, lng, MAX_PRECISION);
+        List<T> matches = new ArrayList<>();
+        for (int precision = 1; precision <= MAX_PRECISION; precision++) {
+            if (levels.get(precision) == 0) {
+                continue;
+            }
+            Set<Subscription<T>> bucket = buckets.get(hash.substring(0, precision));
+            if (bucket == null) {
+                continue;
+            }
+            for (Subscription<T> subscription : bucket) {
+                if (Geohash.distanceMeters(lat, lng, subscription.lat, subscription.lng) <= subscription.radiusMeters) {
+                    matches.add(subscription.subscriber);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static int precisionFor(double lat, double lng, double radiusMeters) {
+        for (int precision = MAX_PRECISION; precision > 1; precision--) {
+            if (Geohash.coverSize(lat, lng, radiusMeters, precision) <= MAX_CELLS) {
+                return precision;
+            }
+        }
+        return 1;
+    }
+
+    public static class Subscription<T> {
+        private final double lat;
+        private final double lng;
+        private final double radiusMeters;
+        private final T subscriber;
+        private final int precision;
+        private final Set<String> cells;
+        private final AtomicBoolean removed = new AtomicBoolean();
+
+        private Subscription(double lat, double lng, double radiusMeters, T subscriber, int precision,
+                Set<String> cells) {
+            this.lat = lat;
+            this.lng = lng;
+            this.radiusMeters = radiusMeters;
+            this.subscriber = subscriber;
+            this.precision = precision;
+            this.cells = cells;
+        }
+    }
+}
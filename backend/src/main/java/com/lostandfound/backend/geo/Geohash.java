@@ -0,0 +1,186 @@
+package com.lostandfound.backend.geo;
+
+import org.springframework.data.geo.Point;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Geohash encoding plus the few spatial helpers built on it. A geohash of
+ * precision p names a lat/lng cell; every prefix of it names the enclosing
+ * cell one level up.
+ */
+public final class Geohash {
+
+    public static final int MAX_PRECISION = 12;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final double EARTH_RADIUS_M = 6_371_000;
+
+    private Geohash() {
+    }
+
+    public static String encode(double lat, double lng, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLng = -180, maxLng = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (lng >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLng = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (lat >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(ch));
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /** Cell height in degrees of latitude. */
+    /** Geohash of a stored location, such as a Post's GeoJsonPoint. */
+    public static String encode(Point point, int precision) {
+        return encode(lat(point), lng(point), precision);
+    }
+
+    // Spring's points, GeoJsonPoint included, are (x = lng, y = lat)
+    public static double lat(Point point) {
+        return point.getY();
+    }
+
+    public static double lng(Point point) {
+        return point.getX();
+    }
+
+    public static double cellHeight(int precision) {
+        return 180.0 / (1L << (5 * precision / 2));
+    }
+
+    /** Cell width in degrees of longitude. */
+    public static double cellWidth(int precision) {
+        return 360.0 / (1L << ((5 * precision + 1) / 2));
+    }
+
+    /** True for a finite latitude in [-90, 90] and longitude in [-180, 180]. */
+    public static boolean isValid(double lat, double lng) {
+        return Double.isFinite(lat) && Double.isFinite(lng) && Math.abs(lat) <= 90 && Math.abs(lng) <= 180;
+    }
+
+    /**
+     * Geohashes of all cells at the given precision that intersect the
+     * bounding box of the circle. Always a superset of the circle, so callers
+     * still check {@link #distanceMeters} for exact membership.
+     *
+     * @throws IllegalArgumentException for an invalid point or a radius that
+     *         is negative or not finite
+     */
+    public static Set<String> cover(double lat, double lng, double radiusMeters, int precision) {
+        long[] range = cellRange(lat, lng, radiusMeters, precision);
+        double h = cellHeight(precision);
+        double w = cellWidth(precision);
+        long columns = columns(precision);
+
+        // Encoding each cell's center walks the cells by index, so the loops are bounded by coverSize
+        Set<String> cells = new LinkedHashSet<>();
+        for (long row = range[0]; row <= range[1]; row++) {
+            double cellLat = -90 + (row + 0.5) * h;
+            for (long col = range[2]; col <= range[3]; col++) {
+                double cellLng = -180 + (Math.floorMod(col, columns) + 0.5) * w;
+                cells.add(encode(cellLat, cellLng, precision));
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Number of cells {@link #cover} would return, without building them.
+     */
+    public static long coverSize(double lat, double lng, double radiusMeters, int precision) {
+        long[] range = cellRange(lat, lng, radiusMeters, precision);
+        return (range[1] - range[0] + 1) * (range[3] - range[2] + 1);
+    }
+
+    /** Great-circle distance (haversine). */
+    public static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                        * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_M * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Returns {minLat, minLng, maxLat, maxLng}. Longitudes may run past +/-180
+     * when the circle crosses the antimeridian; {@link #cellRange} wraps them.
+     */
+    private static double[] boundingBox(double lat, double lng, double radiusMeters) {
+        double dLat = Math.toDegrees(radiusMeters / EARTH_RADIUS_M);
+        double minLat = Math.max(-90, lat - dLat);
+        double maxLat = Math.min(90, lat + dLat);
+
+        // Longitude span is widest at the latitude farthest from the equator
+        double cosLat = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        double dLng = cosLat <= 0 ? 180 : dLat / cosLat;
+        if (dLng >= 180) {
+            return new double[] { minLat, -180, maxLat, 180 - 1e-9 };
+        }
+        return new double[] { minLat, lng - dLng, maxLat, lng + dLng };
+    }
+
+    /**
+     * Returns {firstRow, lastRow, firstColumn, lastColumn} of the cells
+     * intersecting the circle's bounding box. Columns may run past the grid
+     * across the antimeridian and wrap modulo {@link #columns}; there are
+     * never more of them than the grid has.
+     */
+    private static long[] cellRange(double lat, double lng, double radiusMeters, int precision) {
+        if (!isValid(lat, lng)) {
+            throw new IllegalArgumentException("Invalid location: " + lat + ", " + lng);
+        }
+        if (!Double.isFinite(radiusMeters) || radiusMeters < 0) {
+            throw new IllegalArgumentException("Invalid radius: " + radiusMeters);
+        }
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Invalid precision: " + precision);
+        }
+
+        double[] box = boundingBox(lat, lng, radiusMeters);
+        double h = cellHeight(precision);
+        double w = cellWidth(precision);
+        long rows = 1L << (5 * precision / 2);
+        long columns = columns(precision);
+
+        long firstRow = Math.min((long) Math.floor((box[0] + 90) / h), rows - 1);
+        long lastRow = Math.min((long) Math.floor((box[2] + 90) / h), rows - 1);
+        long firstCol = (long) Math.floor((box[1] + 180) / w);
+        long lastCol = Math.min((long) Math.floor((box[3] + 180) / w), firstCol + columns - 1);
+        return new long[] { firstRow, lastRow, firstCol, lastCol };
+    }
+
+    private static long columns(int precision) {
+        return 1L << ((5 * precision + 1) / 2);
+    }
+}
@@ -0,0 +1,27 @@
+package com.lostandfound.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+// An event a durable consumer gave up on; kept for inspection and replay
+@Document(collection = "event_dead_letters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventDeadLetter {
+    @Id
+    private String id;
+
+    private String consumer;
+    private String eventType;
+    private String documentId;
+    private String resumeToken;
+    private String error;
+    private int attempts;
+
+    private LocalDateTime failedAt;
+}
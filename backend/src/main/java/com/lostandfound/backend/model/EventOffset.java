@@ -0,0 +1,27 @@
+package com.lostandfound.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+@Document(collection = "event_offsets")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventOffset {
+    @Id
+    private String consumer;
+
+    private String resumeToken;
+    // Feed that wrote the token: change-stream or polling
+    private String source;
+
+    private LocalDateTime updatedAt;
+
+    // Replica currently running this consumer, and until when
+    private String owner;
+    private LocalDateTime leaseUntil;
+}
@@ -27,12 +27,16 @@ public class Post {
     @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
     private GeoJsonPoint location;
 
+    // Search partition, set on create; see PartitionMap
+    private String partition;
+
     private String imageUrl;
 
     private String category;
     private String contactInfo;
 
     private double[] embedding;
+    private LocalDateTime embeddedAt;
 
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -0,0 +1,29 @@
+package com.lostandfound.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Number of posts for one day, geohash cell, category and type. The same
+ * post is counted once per geohash precision, so any precision can be
+ * read without touching finer ones.
+ */
+@Document(collection = "post_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostStat {
+    @Id
+    private String id; // day|precision|geohash|category|type
+
+    private String day; // yyyy-MM-dd
+    private int precision; // 0 = whole world, geohash is ""
+    private String geohash;
+    private String category;
+    private String type; // LOST, FOUND
+
+    private long count;
+}
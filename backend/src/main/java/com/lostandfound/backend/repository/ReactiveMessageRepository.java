@@ -0,0 +1,8 @@
+package com.lostandfound.backend.repository;
+
+import com.lostandfound.backend.model.Message;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+// Writes only; reads go through ReactiveReferenceLoader, which fills in the @DBRef fields
+public interface ReactiveMessageRepository extends ReactiveMongoRepository<Message, String> {
+}
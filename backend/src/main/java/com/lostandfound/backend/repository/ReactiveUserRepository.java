@@ -0,0 +1,7 @@
+package com.lostandfound.backend.repository;
+
+import com.lostandfound.backend.model.User;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String> {
+}
@@ -0,0 +1,46 @@
+package com.lostandfound.backend.search;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Shared secret members send with partition searches, so only other members
+ * can call {@code /api/search/partitions}. With no secret configured the
+ * endpoint refuses every call, which is fine for a single instance.
+ */
+@Component
+public class ClusterSecret {
+
+    public static final String HEADER = "X-Search-Secret";
+
+    @Value("${search.cluster.secret:}")
+    private String secret;
+
+    @Autowired
+    private MembershipProvider membershipProvider;
+
+    @PostConstruct
+    public void check() {
+        if (secret.isBlank() && membershipProvider.getMembers().size() > 1) {
+            System.err.println("search.cluster.secret is not set; members will refuse each other's partition searches");
+        }
+    }
+
+    public void addTo(HttpHeaders headers) {
+        headers.set(HEADER, secret);
+    }
+
+    public boolean matches(String presented) {
+        if (secret.isBlank() || presented == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8),
+                presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
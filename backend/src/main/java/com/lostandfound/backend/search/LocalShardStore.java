@@ -0,0 +1,133 @@
+package com.lostandfound.backend.search;
+
+import com.lostandfound.backend.event.EmbeddingReady;
+import com.lostandfound.backend.event.EventBus;
+import com.lostandfound.backend.event.PostCreated;
+import com.lostandfound.backend.model.Post;
+import com.lostandfound.backend.startup.WarmUpTask;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * The partitions this instance owns. They are rebuilt from Mongo during
+ * warm-up, so readiness waits for them, and kept current from PostCreated
+ * and EmbeddingReady.
+ */
+@Service
+@Order(20)
+public class LocalShardStore implements WarmUpTask {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PartitionMap partitionMap;
+
+    @Autowired
+    private EventBus eventBus;
+
+    private final Map<String, PostPartition> partitions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void registerListeners() {
+        eventBus.listen(PostCreated.class, event -> index(event.getPost()));
+        eventBus.listen(EmbeddingReady.class, event -> index(event.getPost()));
+    }
+
+    @Override
+    public String getName() {
+        return "search-partitions";
+    }
+
+    @Override
+    public void run() {
+        assignPartitions();
+        rebuild();
+    }
+
+    /**
+     * Stores the partition on posts saved before it was kept on the post, or
+     * under another search.partition-precision. Every instance may run this
+     * at the same time; they all write the same values.
+     */
+    private void assignPartitions() {
+        List<String> stale = mongoTemplate.findDistinct(new Query(), "partition", Post.class, String.class)
+                .stream()
+                .filter(partition -> !partitionMap.isCurrent(partition))
+                .toList();
+        // partition: null also matches posts without the field
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("partition").is(null),
+                Criteria.where("partition").in(stale)));
+        query.fields().include("location");
+
+        int[] assigned = { 0 };
+        try (Stream<Post> posts = mongoTemplate.stream(query, Post.class)) {
+            posts.forEach(post -> {
+                mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(post.getId())),
+                        Update.update("partition", partitionMap.partitionOf(post)), Post.class);
+                assigned[0]++;
+            });
+        }
+        if (assigned[0] > 0) {
+            System.out.println("Assigned search partitions to " + assigned[0] + " posts");
+        }
+    }
+
+    /**
+     * Loads every locally owned post from Mongo. Call again when membership
+     * changes; partitions this instance no longer owns are dropped. Only the
+     * owned partitions are read, found through the posts partition index.
+     */
+    public void rebuild() {
+        partitions.keySet().removeIf(partition -> !partitionMap.isLocal(partition));
+
+        List<String> owned = mongoTemplate.findDistinct(new Query(), "partition", Post.class, String.class)
+                .stream()
+                .filter(partitionMap::isLocal)
+                .toList();
+
+        // Only what the index needs, which also skips resolving Post.user
+        Query query = new Query(Criteria.where("partition").in(owned));
+        query.fields().include("location", "embedding");
+        try (Stream<Post> posts = mongoTemplate.stream(query, Post.class)) {
+            posts.forEach(this::index);
+        }
+
+        int total = partitions.values().stream().mapToInt(PostPartition::size).sum();
+        System.out.println("Search index holds " + total + " posts in " + partitions.size() + " partitions");
+    }
+
+    public List<ScoredPost> search(PartitionQuery query) {
+        float[] vector = PostPartition.normalize(query.getVector());
+        Collection<String> keys = query.getPartitions() != null ? query.getPartitions() : partitions.keySet();
+
+        TopK topK = new TopK(query.getLimit());
+        for (String key : keys) {
+            PostPartition partition = partitions.get(key);
+            if (partition != null) {
+                partition.search(query, vector, topK);
+            }
+        }
+        return topK.toList();
+    }
+
+    private void index(Post post) {
+        String partition = partitionMap.partitionOf(post);
+        if (partitionMap.isLocal(partition)) {
+            partitions.computeIfAbsent(partition, key -> new PostPartition()).put(post);
+        }
+    }
+}
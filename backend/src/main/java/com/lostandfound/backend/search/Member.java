@@ -0,0 +1,13 @@
+package com.lostandfound.backend.search;
+
+import lombok.Value;
+
+/**
+ * A backend instance taking part in search. The url is how other members
+ * reach its /api/search/partitions endpoint.
+ */
+@Value
+public class Member {
+    String id;
+    String url;
+}
@@ -0,0 +1,14 @@
+package com.lostandfound.backend.search;
+
+import java.util.List;
+
+/**
+ * Tells the search layer which instances exist. Partition ownership is
+ * derived from this list, so every member must see the same one.
+ */
+public interface MembershipProvider {
+
+    List<Member> getMembers();
+
+    Member getSelf();
+}
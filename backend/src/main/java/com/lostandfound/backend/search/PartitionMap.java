@@ -0,0 +1,87 @@
+package com.lostandfound.backend.search;
+
+import com.lostandfound.backend.geo.Geohash;
+import com.lostandfound.backend.model.Post;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Splits posts into partitions by geohash prefix and assigns each partition
+ * to one member by rendezvous hashing: the member with the highest
+ * hash(member, partition) owns it. Every member computes the same owners
+ * from the same member list, and adding or removing a member only moves
+ * the partitions that member wins or loses.
+ */
+@Component
+public class PartitionMap {
+
+    /** Partition of posts without a location. */
+    public static final String UNLOCATED = "_";
+
+    // Above this many partitions, routing by area is no cheaper than asking everyone
+    private static final int MAX_ROUTED_PARTITIONS = 1024;
+
+    @Autowired
+    private MembershipProvider membershipProvider;
+
+    // 3 = cells of roughly 156 x 156 km
+    @Value("${search.partition-precision:3}")
+    private int precision;
+
+    /** Whether a stored partition was computed with the current precision. */
+    public boolean isCurrent(String partition) {
+        return UNLOCATED.equals(partition) || partition.length() == precision;
+    }
+
+    public String partitionOf(Post post) {
+        if (post.getLocation() == null) {
+            return UNLOCATED;
+        }
+        return Geohash.encode(post.getLocation(), precision);
+    }
+
+    /**
+     * Partitions intersecting the circle, or null when the area is so large
+     * that the query should go to every partition.
+     */
+    public Set<String> partitionsFor(double lat, double lng, double radiusKm) {
+        if (Geohash.coverSize(lat, lng, radiusKm * 1000, precision) > MAX_ROUTED_PARTITIONS) {
+            return null;
+        }
+        return Geohash.cover(lat, lng, radiusKm * 1000, precision);
+    }
+
+    public Member ownerOf(String partition) {
+        Member owner = null;
+        long best = Long.MIN_VALUE;
+        for (Member member : membershipProvider.getMembers()) {
+            long weight = hash(member.getId() + "|" + partition);
+            if (owner == null || weight > best) {
+                owner = member;
+                best = weight;
+            }
+        }
+        return owner;
+    }
+
+    public boolean isLocal(String partition) {
+        return ownerOf(partition).getId().equals(membershipProvider.getSelf().getId());
+    }
+
+    // FNV-1a with a final mix; stable across JVMs, unlike Object.hashCode
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
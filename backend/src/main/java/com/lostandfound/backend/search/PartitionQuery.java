@@ -0,0 +1,23 @@
+package com.lostandfound.backend.search;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A search sent to one member. Null partitions means every partition the
+ * member owns; null lat/lng/radiusKm means no area filter. Results are
+ * ranked by similarity to the vector, or by distance when there is none.
+ */
+@Data
+public class PartitionQuery {
+    // Most results a search may ask for, locally or from a member
+    public static final int MAX_LIMIT = 100;
+
+    private List<String> partitions;
+    private Double lat;
+    private Double lng;
+    private Double radiusKm;
+    private double[] vector;
+    private int limit;
+}
@@ -0,0 +1,95 @@
+package com.lostandfound.backend.search;
+
+import com.lostandfound.backend.geo.Geohash;
+import com.lostandfound.backend.model.Post;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The posts of one partition held in memory: location plus the embedding
+ * normalised to unit length, so cosine similarity is a dot product. Queries
+ * scan the whole partition, which partitioning keeps small.
+ */
+class PostPartition {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    void put(Post post) {
+        Entry entry = new Entry(post.getId(),
+                post.getLocation() != null ? Geohash.lat(post.getLocation()) : Double.NaN,
+                post.getLocation() != null ? Geohash.lng(post.getLocation()) : Double.NaN,
+                normalize(post.getEmbedding()));
+        // A rebuild may read a post from before its embedding was written; keep the newer vector
+        entries.merge(post.getId(), entry, (old, update) -> update.vector == null && old.vector != null ? old : update);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void search(PartitionQuery query, float[] vector, TopK topK) {
+        boolean hasArea = query.getLat() != null && query.getLng() != null && query.getRadiusKm() != null;
+        double radiusMeters = hasArea ? query.getRadiusKm() * 1000 : 0;
+
+        for (Entry entry : entries.values()) {
+            double distance = 0;
+            if (hasArea) {
+                if (Double.isNaN(entry.lat)) {
+                    continue;
+                }
+                distance = Geohash.distanceMeters(query.getLat(), query.getLng(), entry.lat, entry.lng);
+                if (distance > radiusMeters) {
+                    continue;
+                }
+            }
+
+            if (vector == null) {
+                topK.offer(entry.id, -distance);
+            } else if (entry.vector != null && entry.vector.length == vector.length) {
+                topK.offer(entry.id, dot(vector, entry.vector));
+            }
+        }
+    }
+
+    static float[] normalize(double[] vector) {
+        if (vector == null || vector.length == 0) {
+            return null;
+        }
+        double norm = 0;
+        for (double v : vector) {
+            norm += v * v;
+        }
+        if (norm == 0) {
+            return null;
+        }
+        norm = Math.sqrt(norm);
+        float[] unit = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            unit[i] = (float) (vector[i] / norm);
+        }
+        return unit;
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private static class Entry {
+        private final String id;
+        private final double lat;
+        private final double lng;
+        private final float[] vector;
+
+        Entry(String id, double lat, double lng, float[] vector) {
+            this.id = id;
+            this.lat = lat;
+            this.lng = lng;
+            this.vector = vector;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.lostandfound.backend.search;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * A search hit; higher scores rank first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoredPost {
+    private String postId;
+    private double score;
+}
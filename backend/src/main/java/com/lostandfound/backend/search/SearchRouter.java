@@ -0,0 +1,168 @@
+package com.lostandfound.backend.search;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scatter-gather over the partitioned index. A query with an area goes only
+ * to the owners of the partitions intersecting it, each asked for just
+ * those partitions; a query without one goes to every member. The top
+ * results from each are merged. A member that fails or times out is left
+ * out of the result rather than failing the search.
+ */
+@Service
+public class SearchRouter {
+
+    @Autowired
+    private PartitionMap partitionMap;
+
+    @Autowired
+    private MembershipProvider membershipProvider;
+
+    @Autowired
+    private LocalShardStore localStore;
+
+    @Autowired
+    private ClusterSecret clusterSecret;
+
+    @Value("${search.remote-timeout-ms:2000}")
+    private long remoteTimeoutMs;
+
+    // Remote calls in flight at once; further ones wait in a queue of the same size
+    @Value("${search.remote-concurrency:32}")
+    private int remoteConcurrency;
+
+    private RestTemplate restTemplate;
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        // Own client so a hung member frees the thread after the timeout instead of blocking it for good
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout((int) remoteTimeoutMs);
+        requestFactory.setReadTimeout((int) remoteTimeoutMs);
+        restTemplate = new RestTemplate(requestFactory);
+
+        executor = new ThreadPoolExecutor(remoteConcurrency, remoteConcurrency, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(remoteConcurrency), r -> {
+                    Thread thread = new Thread(r, "search-router");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Top posts by similarity to the vector (or by distance without one),
+     * optionally limited to radiusKm around (lat, lng).
+     */
+    public List<ScoredPost> search(double[] vector, Double lat, Double lng, Double radiusKm, int limit) {
+        validateArea(lat, lng, radiusKm);
+        limit = Math.max(1, Math.min(limit, PartitionQuery.MAX_LIMIT));
+        boolean hasArea = lat != null && lng != null && radiusKm != null;
+        Set<String> partitions = hasArea ? partitionMap.partitionsFor(lat, lng, radiusKm) : null;
+
+        // Member -> partitions to ask it for; null asks for all it owns
+        Map<Member, List<String>> plan = new LinkedHashMap<>();
+        if (partitions == null) {
+            membershipProvider.getMembers().forEach(member -> plan.put(member, null));
+        } else {
+            for (String partition : partitions) {
+                plan.computeIfAbsent(partitionMap.ownerOf(partition), member -> new ArrayList<>()).add(partition);
+            }
+        }
+
+        Member self = membershipProvider.getSelf();
+        List<CompletableFuture<List<ScoredPost>>> remote = new ArrayList<>();
+        PartitionQuery localQuery = null;
+        for (Map.Entry<Member, List<String>> entry : plan.entrySet()) {
+            PartitionQuery query = new PartitionQuery();
+            query.setPartitions(entry.getValue());
+            query.setLat(lat);
+            query.setLng(lng);
+            query.setRadiusKm(radiusKm);
+            query.setVector(vector);
+            query.setLimit(limit);
+
+            if (entry.getKey().getId().equals(self.getId())) {
+                localQuery = query;
+            } else {
+                remote.add(queryRemote(entry.getKey(), query));
+            }
+        }
+
+        // Local partitions are searched on this thread while the remote calls are in flight
+        TopK merged = new TopK(limit);
+        if (localQuery != null) {
+            merged.offerAll(localStore.search(localQuery));
+        }
+        for (CompletableFuture<List<ScoredPost>> future : remote) {
+            merged.offerAll(future.join());
+        }
+        return merged.toList();
+    }
+
+    /**
+     * Throws IllegalArgumentException unless each given value is usable: a
+     * finite latitude in [-90, 90], longitude in [-180, 180], and a finite,
+     * positive radius. Missing values mean no area filter.
+     */
+    public static void validateArea(Double lat, Double lng, Double radiusKm) {
+        if (lat != null && (!Double.isFinite(lat) || Math.abs(lat) > 90)) {
+            throw new IllegalArgumentException("lat must be between -90 and 90");
+        }
+        if (lng != null && (!Double.isFinite(lng) || Math.abs(lng) > 180)) {
+            throw new IllegalArgumentException("lng must be between -180 and 180");
+        }
+        if (radiusKm != null && (!Double.isFinite(radiusKm) || radiusKm <= 0)) {
+            throw new IllegalArgumentException("radiusKm must be positive");
+        }
+    }
+
+    private CompletableFuture<List<ScoredPost>> queryRemote(Member member, PartitionQuery query) {
+        CompletableFuture<List<ScoredPost>> call;
+        try {
+            call = CompletableFuture.supplyAsync(() -> {
+                HttpHeaders headers = new HttpHeaders();
+                clusterSecret.addTo(headers);
+                ScoredPost[] hits = restTemplate.postForObject(member.getUrl() + "/api/search/partitions",
+                        new HttpEntity<>(query, headers), ScoredPost[].class);
+                return hits != null ? Arrays.asList(hits) : List.<ScoredPost>of();
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            // Too many remote calls already pending
+            call = CompletableFuture.failedFuture(e);
+        }
+        // Connect plus read can take up to twice the timeout; the search does not wait that long
+        return call
+                .orTimeout(remoteTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    System.err.println("Search member " + member.getId() + " unavailable: " + e.getMessage());
+                    return List.of();
+                });
+    }
+}
@@ -0,0 +1,67 @@
+package com.lostandfound.backend.search;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Membership from configuration:
+ *
+ * <pre>
+ * search.cluster.members=node-a=http://10.0.0.1:8080,node-b=http://10.0.0.2:8080
+ * search.cluster.self=node-a
+ * </pre>
+ *
+ * With no members configured this instance is the only member and owns
+ * every partition.
+ */
+@Component
+public class StaticMembershipProvider implements MembershipProvider {
+
+    @Value("${search.cluster.members:}")
+    private String membersConfig;
+
+    @Value("${search.cluster.self:local}")
+    private String selfId;
+
+    private List<Member> members;
+    private Member self;
+
+    @PostConstruct
+    public void parse() {
+        List<Member> parsed = new ArrayList<>();
+        for (String entry : membersConfig.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf('=');
+            if (separator < 1) {
+                throw new IllegalStateException("search.cluster.members entries must be id=url: " + entry);
+            }
+            parsed.add(new Member(entry.substring(0, separator).trim(), entry.substring(separator + 1).trim()));
+        }
+
+        if (parsed.isEmpty()) {
+            parsed.add(new Member(selfId, null));
+        }
+        members = List.copyOf(parsed);
+        self = members.stream()
+                .filter(m -> m.getId().equals(selfId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(
+                        "search.cluster.self " + selfId + " is not in search.cluster.members"));
+    }
+
+    @Override
+    public List<Member> getMembers() {
+        return members;
+    }
+
+    @Override
+    public Member getSelf() {
+        return self;
+    }
+}
@@ -0,0 +1,41 @@
+package com.lostandfound.backend.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the k highest-scoring hits seen so far in a min-heap.
+ */
+class TopK {
+
+    private final int k;
+    private final PriorityQueue<ScoredPost> heap = new PriorityQueue<>(Comparator.comparingDouble(ScoredPost::getScore));
+
+    TopK(int k) {
+        this.k = Math.max(k, 1);
+    }
+
+    void offer(String postId, double score) {
+        if (heap.size() < k) {
+            heap.add(new ScoredPost(postId, score));
+        } else if (score > heap.peek().getScore()) {
+            heap.poll();
+            heap.add(new ScoredPost(postId, score));
+        }
+    }
+
+    void offerAll(List<ScoredPost> hits) {
+        for (ScoredPost hit : hits) {
+            offer(hit.getPostId(), hit.getScore());
+        }
+    }
+
+    /** Best first. */
+    List<ScoredPost> toList() {
+        List<ScoredPost> result = new ArrayList<>(heap);
+        result.sort(Comparator.comparingDouble(ScoredPost::getScore).reversed());
+        return result;
+    }
+}
@@ -1,10 +1,6 @@
 package com.lostandfound.backend.service;
 
-import com.sendgrid.*;
-import com.sendgrid.helpers.mail.Mail;
-import com.sendgrid.helpers.mail.objects.Content;
-import com.sendgrid.helpers.mail.objects.Email;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
@@ -12,34 +8,12 @@ import java.io.IOException;
 @Service
 public class EmailService {
 
-    @Value("${sendgrid.api.key}")
-    private String sendGridApiKey;
-
-    @Value("${sendgrid.from.email:noreply@khojsetu.com}")
-    private String fromEmail;
+    @Autowired
+    private MailTransport mailTransport;
 
     public void sendOtpEmail(String toEmail, String otp) throws IOException {
-        Email from = new Email(fromEmail);
         String subject = "Password Reset OTP - KhojSetu";
-        Email to = new Email(toEmail);
-
-        String htmlContent = buildOtpEmailHtml(otp);
-        Content content = new Content("text/html", htmlContent);
-
-        Mail mail = new Mail(from, subject, to, content);
-
-        SendGrid sg = new SendGrid(sendGridApiKey);
-        Request request = new Request();
-
-        try {
-            request.setMethod(Method.POST);
-            request.setEndpoint("mail/send");
-            request.setBody(mail.build());
-            Response response = sg.api(request);
-            System.out.println("Email sent! Status code: " + response.getStatusCode());
-        } catch (IOException ex) {
-            throw new IOException("Failed to send email: " + ex.getMessage());
-        }
+        mailTransport.send(toEmail, subject, buildOtpEmailHtml(otp));
     }
 
     private String buildOtpEmailHtml(String otp) {
@@ -0,0 +1,98 @@
+package com.lostandfound.backend.service;
+
+import com.lostandfound.backend.event.EventBus;
+import com.lostandfound.backend.event.PostCreated;
+import com.lostandfound.backend.model.Post;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class EmbeddingService {
+
+    @Value("${ai.service.url}")
+    private String aiServiceUrl;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private EventBus eventBus;
+
+    @PostConstruct
+    public void registerConsumer() {
+        eventBus.subscribe("post-embedding", PostCreated.class, event -> embedPost(event.getPost()));
+    }
+
+    /**
+     * Sends an image to the AI service and returns its embedding, or null if
+     * the service answered without a vector.
+     */
+    public double[] embed(Resource image) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("file", image);
+
+        // AI service returns { "vector": [0.1, ...], "message": "..." }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> response = restTemplate.postForObject(aiServiceUrl + "/embed",
+                new HttpEntity<>(body, headers), Map.class);
+
+        if (response == null || !response.containsKey("vector")) {
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Double> vectorList = (List<Double>) response.get("vector");
+        double[] embedding = new double[vectorList.size()];
+        for (int i = 0; i < vectorList.size(); i++) {
+            embedding[i] = vectorList.get(i);
+        }
+        return embedding;
+    }
+
+    private void embedPost(Post post) {
+        if (post.getImageUrl() == null || post.getImageUrl().isEmpty()) {
+            return;
+        }
+
+        // Only images uploaded through /api/posts/upload-image are local files
+        Path path = Paths.get(post.getImageUrl());
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        double[] embedding = embed(new FileSystemResource(path));
+        if (embedding != null) {
+            // Partial update so the write shows up as an EmbeddingReady event
+            mongoTemplate.updateFirst(new Query(Criteria.where("id").is(post.getId())),
+                    new Update().set("embedding", embedding).set("embeddedAt", LocalDateTime.now()),
+                    Post.class);
+        }
+    }
+}
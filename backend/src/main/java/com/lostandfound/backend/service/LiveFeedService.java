@@ -0,0 +1,70 @@
+package com.lostandfound.backend.service;
+
+import com.lostandfound.backend.event.EventBus;
+import com.lostandfound.backend.event.PostCreated;
+import com.lostandfound.backend.geo.GeoSubscriptionIndex;
+import com.lostandfound.backend.geo.Geohash;
+import com.lostandfound.backend.model.Post;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Consumer;
+
+/**
+ * Pushes newly created posts to clients watching the area they were posted
+ * in. Subscriptions live in memory on this instance; every instance listens
+ * to PostCreated itself.
+ */
+@Service
+public class LiveFeedService {
+
+    private final GeoSubscriptionIndex<Consumer<Post>> index = new GeoSubscriptionIndex<>();
+
+    @Autowired
+    private EventBus eventBus;
+
+    @PostConstruct
+    public void registerListener() {
+        eventBus.listen(PostCreated.class, event -> publish(event.getPost()));
+    }
+
+    /**
+     * Calls the listener with every new post within radiusKm of the point.
+     * Returns the action that cancels the subscription.
+     */
+    public Runnable subscribe(double lat, double lng, double radiusKm, Consumer<Post> listener) {
+        validate(lat, lng, radiusKm);
+        GeoSubscriptionIndex.Subscription<Consumer<Post>> subscription = index.subscribe(lat, lng,
+                radiusKm * 1000, listener);
+        return () -> index.unsubscribe(subscription);
+    }
+
+    /**
+     * Throws IllegalArgumentException unless the point is a valid location and
+     * the radius is finite and positive.
+     */
+    public static void validate(double lat, double lng, double radiusKm) {
+        if (!Geohash.isValid(lat, lng)) {
+            throw new IllegalArgumentException("Invalid location");
+        }
+        if (!Double.isFinite(radiusKm) || radiusKm <= 0) {
+            throw new IllegalArgumentException("Radius must be positive");
+        }
+    }
+
+    private void publish(Post post) {
+        if (post.getLocation() == null) {
+            return;
+        }
+
+        for (Consumer<Post> listener : index.match(Geohash.lat(post.getLocation()), Geohash.lng(post.getLocation()))) {
+            try {
+                listener.accept(post);
+            } catch (RuntimeException e) {
+                // One broken client must not make the event bus redeliver to everyone
+                System.err.println("Live feed delivery failed: " + e.getMessage());
+            }
+        }
+    }
+}
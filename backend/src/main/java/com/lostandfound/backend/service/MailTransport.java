@@ -0,0 +1,11 @@
+package com.lostandfound.backend.service;
+
+import java.io.IOException;
+
+/**
+ * Delivers an HTML email. {@link SendGridMailTransport} is used unless
+ * mail.transport selects another implementation.
+ */
+public interface MailTransport {
+    void send(String toEmail, String subject, String htmlContent) throws IOException;
+}
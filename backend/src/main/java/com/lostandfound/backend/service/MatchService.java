@@ -0,0 +1,43 @@
+package com.lostandfound.backend.service;
+
+import com.lostandfound.backend.event.EmbeddingReady;
+import com.lostandfound.backend.event.EventBus;
+import com.lostandfound.backend.model.Post;
+import com.lostandfound.backend.repository.PostRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class MatchService {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private EventBus eventBus;
+
+    @PostConstruct
+    public void registerConsumer() {
+        eventBus.subscribe("post-matching", EmbeddingReady.class, event -> findMatches(event.getPost()));
+    }
+
+    private void findMatches(Post newPost) {
+        if (newPost.getType() == null || newPost.getTitle() == null) {
+            return;
+        }
+
+        // Mock matching logic: Find opposite type posts with a similar title
+        Post.PostType oppositeType = newPost.getType() == Post.PostType.LOST ? Post.PostType.FOUND
+                : Post.PostType.LOST;
+        List<Post> potentialMatches = postRepository.findByTitleContainingIgnoreCase(newPost.getTitle()).stream()
+                .filter(p -> p.getType() == oppositeType)
+                .toList();
+
+        if (!potentialMatches.isEmpty()) {
+            System.out.println("Post " + newPost.getId() + " has " + potentialMatches.size() + " potential matches");
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.lostandfound.backend.service;
+
+import com.lostandfound.backend.dto.StatBucketDTO;
+import com.lostandfound.backend.geo.Geohash;
+import com.lostandfound.backend.model.Post;
+import com.lostandfound.backend.model.PostStat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Lost/found counts rolled up in post_stats by day, geohash cell, category
+ * and type. Every saved post increments one counter per precision in
+ * {@link #PRECISIONS}, so reading statistics costs the number of buckets
+ * in range, not the number of posts.
+ */
+@Service
+public class PostStatsService {
+
+    /** Geohash precisions kept; 0 is a single worldwide cell. */
+    public static final int[] PRECISIONS = { 0, 2, 3, 4, 5 };
+
+    private static final String UNCATEGORIZED = "Uncategorized";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public enum Bucket {
+        DAY, WEEK, MONTH
+    }
+
+    /**
+     * Counts a newly saved post. A failure is logged rather than thrown: the
+     * post is already stored, and the backfill job can repair the counts.
+     */
+    public void record(Post post) {
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PostStat.class);
+            for (PostStat stat : statsFor(post)) {
+                bulk.upsert(new Query(Criteria.where("id").is(stat.getId())),
+                        setKeyFields(new Update(), stat).inc("count", 1));
+            }
+            bulk.execute();
+        } catch (Exception e) {
+            System.err.println("Failed to update stats for post " + post.getId() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Overwrites the given counters with absolute values. Used by the
+     * backfill job.
+     */
+    public void replace(List<PostStat> stats) {
+        if (stats.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PostStat.class);
+        for (PostStat stat : stats) {
+            bulk.upsert(new Query(Criteria.where("id").is(stat.getId())),
+                    setKeyFields(new Update(), stat).set("count", stat.getCount()));
+        }
+        bulk.execute();
+    }
+
+    /**
+     * Lost and found counts from (inclusive) to (inclusive), grouped by
+     * time bucket, geohash cell at the given precision, and category.
+     * Optional filters: a geohash prefix no longer than the precision, a
+     * category, and a post type.
+     */
+    public List<StatBucketDTO> query(LocalDate from, LocalDate to, Bucket bucket, int precision,
+            String geohashPrefix, String category, Post.PostType type) {
+        if (Arrays.stream(PRECISIONS).noneMatch(p -> p == precision)) {
+            throw new IllegalArgumentException("precision must be one of " + Arrays.toString(PRECISIONS));
+        }
+        if (geohashPrefix != null && geohashPrefix.length() > precision) {
+            throw new IllegalArgumentException("geohash is longer than precision " + precision);
+        }
+
+        Criteria criteria = Criteria.where("precision").is(precision)
+                .and("day").gte(from.toString()).lte(to.toString());
+        if (geohashPrefix != null && !geohashPrefix.isEmpty()) {
+            criteria.and("geohash").regex("^" + Pattern.quote(geohashPrefix));
+        }
+        if (category != null) {
+            criteria.and("category").is(category);
+        }
+        if (type != null) {
+            criteria.and("type").is(type.name());
+        }
+
+        Map<String, StatBucketDTO> buckets = new LinkedHashMap<>();
+        for (PostStat stat : mongoTemplate.find(new Query(criteria), PostStat.class)) {
+            String period = periodOf(LocalDate.parse(stat.getDay()), bucket);
+            StatBucketDTO row = buckets.computeIfAbsent(period + "|" + stat.getGeohash() + "|" + stat.getCategory(),
+                    key -> new StatBucketDTO(period, stat.getGeohash(), stat.getCategory(), 0, 0));
+            if (Post.PostType.FOUND.name().equals(stat.getType())) {
+                row.setFound(row.getFound() + stat.getCount());
+            } else {
+                row.setLost(row.getLost() + stat.getCount());
+            }
+        }
+
+        List<StatBucketDTO> rows = new ArrayList<>(buckets.values());
+        rows.sort(Comparator.comparing(StatBucketDTO::getPeriod)
+                .thenComparing(StatBucketDTO::getGeohash)
+                .thenComparing(StatBucketDTO::getCategory));
+        return rows;
+    }
+
+    /** One counter per precision for the post, each with a count of 1. */
+    public List<PostStat> statsFor(Post post) {
+        LocalDateTime createdAt = post.getCreatedAt() != null ? post.getCreatedAt() : LocalDateTime.now();
+        String day = createdAt.toLocalDate().toString();
+        String category = post.getCategory() != null && !post.getCategory().isBlank() ? post.getCategory()
+                : UNCATEGORIZED;
+        String type = (post.getType() != null ? post.getType() : Post.PostType.LOST).name();
+
+        String fullHash = post.getLocation() != null
+                ? Geohash.encode(post.getLocation(), PRECISIONS[PRECISIONS.length - 1])
+                : null;
+
+        List<PostStat> stats = new ArrayList<>(PRECISIONS.length);
+        for (int precision : PRECISIONS) {
+            if (fullHash == null && precision > 0) {
+                break;
+            }
+            String geohash = precision == 0 ? "" : fullHash.substring(0, precision);
+            String id = day + "|" + precision + "|" + geohash + "|" + category + "|" + type;
+            stats.add(new PostStat(id, day, precision, geohash, category, type, 1));
+        }
+        return stats;
+    }
+
+    private static Update setKeyFields(Update update, PostStat stat) {
+        return update.set("day", stat.getDay())
+                .set("precision", stat.getPrecision())
+                .set("geohash", stat.getGeohash())
+                .set("category", stat.getCategory())
+                .set("type", stat.getType());
+    }
+
+    private static String periodOf(LocalDate day, Bucket bucket) {
+        return switch (bucket) {
+            case DAY -> day.toString();
+            case WEEK -> String.format("%d-W%02d", day.get(IsoFields.WEEK_BASED_YEAR),
+                    day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case MONTH -> day.toString().substring(0, 7);
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package com.lostandfound.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of {@link EmbeddingService#embed}.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveEmbeddingClient {
+
+    private final WebClient webClient;
+
+    public ReactiveEmbeddingClient(WebClient.Builder webClientBuilder, @Value("${ai.service.url}") String aiServiceUrl) {
+        this.webClient = webClientBuilder.baseUrl(aiServiceUrl).build();
+    }
+
+    /**
+     * Emits the embedding of the uploaded image, or completes empty if the AI
+     * service answered without a vector.
+     */
+    public Mono<double[]> embed(FilePart file) {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("file", file);
+
+        // AI service returns { "vector": [0.1, ...], "message": "..." }
+        return webClient.post()
+                .uri("/embed")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(body.build()))
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
+                })
+                .mapNotNull(response -> {
+                    @SuppressWarnings("unchecked")
+                    List<Number> vectorList = (List<Number>) response.get("vector");
+                    if (vectorList == null) {
+                        return null;
+                    }
+                    double[] embedding = new double[vectorList.size()];
+                    for (int i = 0; i < vectorList.size(); i++) {
+                        embedding[i] = vectorList.get(i).doubleValue();
+                    }
+                    return embedding;
+                });
+    }
+}
@@ -0,0 +1,156 @@
+package com.lostandfound.backend.service;
+
+import com.lostandfound.backend.model.Chat;
+import com.lostandfound.backend.model.Message;
+import com.lostandfound.backend.model.Post;
+import com.lostandfound.backend.model.User;
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Reads posts, chats and messages for the "reactive" profile with their
+ * {@code @DBRef} fields filled in. The reactive driver cannot resolve
+ * references itself, so documents are read raw with the reference fields
+ * taken out, and the referenced users, posts and chats are then fetched with
+ * one {@code $in} query per batch. No Mongo call blocks.
+ *
+ * Queries are run as written, so use stored field names: {@code _id}, and
+ * {@code user1.$id} etc. for references (see {@link #toId}).
+ */
+@Service
+@Profile("reactive")
+public class ReactiveReferenceLoader {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    public Flux<Post> findPosts(Query query) {
+        return readUnresolved(query, Post.class, "user")
+                .buffer(BATCH_SIZE)
+                .concatMap(posts -> findUsers(posts, "user")
+                        .flatMapIterable(users -> {
+                            posts.forEach(post -> post.entity.setUser(users.get(post.refId("user"))));
+                            return entities(posts);
+                        }));
+    }
+
+    public Flux<Chat> findChats(Query query) {
+        return readUnresolved(query, Chat.class, "user1", "user2", "relatedPost")
+                .buffer(BATCH_SIZE)
+                .concatMap(chats -> Mono.zip(
+                                findUsers(chats, "user1", "user2"),
+                                findByRef(chats, this::findPosts, Post::getId, "relatedPost"))
+                        .flatMapIterable(refs -> {
+                            chats.forEach(chat -> {
+                                chat.entity.setUser1(refs.getT1().get(chat.refId("user1")));
+                                chat.entity.setUser2(refs.getT1().get(chat.refId("user2")));
+                                chat.entity.setRelatedPost(refs.getT2().get(chat.refId("relatedPost")));
+                            });
+                            return entities(chats);
+                        }));
+    }
+
+    public Flux<Message> findMessages(Query query) {
+        return readUnresolved(query, Message.class, "sender", "chat")
+                .buffer(BATCH_SIZE)
+                .concatMap(messages -> Mono.zip(
+                                findUsers(messages, "sender"),
+                                findByRef(messages, this::findChats, Chat::getId, "chat"))
+                        .flatMapIterable(refs -> {
+                            messages.forEach(message -> {
+                                message.entity.setSender(refs.getT1().get(message.refId("sender")));
+                                message.entity.setChat(refs.getT2().get(message.refId("chat")));
+                            });
+                            return entities(messages);
+                        }));
+    }
+
+    /**
+     * An id as stored: entity ids that look like ObjectIds are saved as
+     * ObjectIds, in {@code _id} and in references alike.
+     */
+    public static Object toId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    private <T> Flux<Unresolved<T>> readUnresolved(Query query, Class<T> type, String... refFields) {
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(type))
+                .map(document -> {
+                    Document refs = new Document();
+                    for (String field : refFields) {
+                        refs.put(field, document.remove(field));
+                    }
+                    return new Unresolved<>(mongoTemplate.getConverter().read(type, document), refs);
+                });
+    }
+
+    private Mono<Map<String, User>> findUsers(List<? extends Unresolved<?>> items, String... fields) {
+        return findByRef(items, query -> mongoTemplate.find(query, User.class), User::getId, fields);
+    }
+
+    // Everything the items reference through the given fields, by id
+    private <R> Mono<Map<String, R>> findByRef(List<? extends Unresolved<?>> items,
+            Function<Query, Flux<R>> finder, Function<R, String> idOf, String... fields) {
+        Set<Object> ids = new LinkedHashSet<>();
+        for (Unresolved<?> item : items) {
+            for (String field : fields) {
+                Object id = item.rawRefId(field);
+                if (id != null) {
+                    ids.add(id);
+                }
+            }
+        }
+        if (ids.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return finder.apply(new Query(Criteria.where("_id").in(ids))).collectMap(idOf);
+    }
+
+    private static <T> List<T> entities(List<Unresolved<T>> items) {
+        List<T> entities = new ArrayList<>(items.size());
+        items.forEach(item -> entities.add(item.entity));
+        return entities;
+    }
+
+    private static class Unresolved<T> {
+        private final T entity;
+        // Reference field -> stored value ({$ref, $id}), taken out before mapping
+        private final Document refs;
+
+        Unresolved(T entity, Document refs) {
+            this.entity = entity;
+            this.refs = refs;
+        }
+
+        Object rawRefId(String field) {
+            Object value = refs.get(field);
+            if (value instanceof DBRef ref) {
+                return ref.getId();
+            }
+            return value instanceof Document document ? document.get("$id") : null;
+        }
+
+        String refId(String field) {
+            Object id = rawRefId(field);
+            return id != null ? id.toString() : null;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.lostandfound.backend.service;
+
+import com.sendgrid.*;
+import com.sendgrid.helpers.mail.Mail;
+import com.sendgrid.helpers.mail.objects.Content;
+import com.sendgrid.helpers.mail.objects.Email;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+
+@Service
+@ConditionalOnProperty(name = "mail.transport", havingValue = "sendgrid", matchIfMissing = true)
+public class SendGridMailTransport implements MailTransport {
+
+    @Value("${sendgrid.api.key}")
+    private String sendGridApiKey;
+
+    @Value("${sendgrid.from.email:noreply@khojsetu.com}")
+    private String fromEmail;
+
+    @Override
+    public void send(String toEmail, String subject, String htmlContent) throws IOException {
+        Email from = new Email(fromEmail);
+        Email to = new Email(toEmail);
+        Content content = new Content("text/html", htmlContent);
+
+        Mail mail = new Mail(from, subject, to, content);
+
+        SendGrid sg = new SendGrid(sendGridApiKey);
+        Request request = new Request();
+
+        try {
+            request.setMethod(Method.POST);
+            request.setEndpoint("mail/send");
+            request.setBody(mail.build());
+            Response response = sg.api(request);
+            System.out.println("Email sent! Status code: " + response.getStatusCode());
+        } catch (IOException ex) {
+            throw new IOException("Failed to send email: " + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.lostandfound.backend.service;
+
+import com.lostandfound.backend.model.Post;
+import com.lostandfound.backend.model.PostStat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Recomputes post_stats from the posts collection for every day before a
+ * cutoff date (today by default), overwriting those counters. The cutoff is
+ * kept to days that no longer receive new posts: never later than today,
+ * and not yesterday within {@link #MIDNIGHT_GRACE} of midnight. So the job
+ * does not race with the incremental updates from
+ * {@link PostStatsService#record}, and running it again gives the same result.
+ */
+@Service
+public class StatsBackfillJob {
+
+    private static final int WRITE_BATCH = 1000;
+    private static final Duration MIDNIGHT_GRACE = Duration.ofMinutes(5);
+    private static final String LOCKS = "job_locks";
+    private static final String STARTUP_LOCK = "stats-backfill-on-startup";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PostStatsService postStatsService;
+
+    @Value("${stats.backfill-on-startup:false}")
+    private boolean backfillOnStartup;
+
+    // After one replica runs the startup backfill, the others skip it for this long
+    @Value("${stats.backfill-startup-lease-ms:3600000}")
+    private long startupLeaseMs;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        if (!acquireStartupLease()) {
+            System.out.println("Stats backfill on startup skipped: another instance already ran it");
+            return;
+        }
+        start(LocalDate.now());
+    }
+
+    /**
+     * Takes the startup lease unless another instance holds a current one.
+     * The lease is not released after the run, so replicas starting in the
+     * same rollout do not scan the posts again.
+     */
+    private boolean acquireStartupLease() {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(Criteria.where("_id").is(STARTUP_LOCK).and("leaseUntil").lt(now));
+        Update update = new Update().set("leaseUntil", now.plusNanos(startupLeaseMs * 1_000_000));
+        try {
+            mongoTemplate.upsert(query, update, LOCKS);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // The lock exists and its lease has not expired
+            return false;
+        }
+    }
+
+    /**
+     * Starts a backfill of all days before {@code until} on a background
+     * thread. Returns false if one is already running. Dates after today are
+     * treated as today, and shortly after midnight yesterday is left out too.
+     */
+    public boolean start(LocalDate until) {
+        // A post stamped just before midnight may only now be saving; its increment
+        // could land after yesterday's recount and be overwritten
+        LocalDate latest = LocalDateTime.now().minus(MIDNIGHT_GRACE).toLocalDate();
+        LocalDate cutoff = until.isAfter(latest) ? latest : until;
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                run(cutoff);
+            } catch (Exception e) {
+                System.err.println("Stats backfill failed: " + e.getMessage());
+            } finally {
+                running.set(false);
+            }
+        }, "stats-backfill");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private void run(LocalDate until) {
+        long started = System.currentTimeMillis();
+        Map<String, PostStat> counts = new HashMap<>();
+
+        Query query = new Query(Criteria.where("createdAt").lt(until.atStartOfDay()));
+        query.fields().include("type", "category", "location", "createdAt");
+        long posts = 0;
+        try (Stream<Post> stream = mongoTemplate.stream(query, Post.class)) {
+            for (Post post : (Iterable<Post>) stream::iterator) {
+                for (PostStat stat : postStatsService.statsFor(post)) {
+                    counts.merge(stat.getId(), stat, (a, b) -> {
+                        a.setCount(a.getCount() + b.getCount());
+                        return a;
+                    });
+                }
+                posts++;
+            }
+        }
+
+        List<PostStat> batch = new ArrayList<>(WRITE_BATCH);
+        for (PostStat stat : counts.values()) {
+            batch.add(stat);
+            if (batch.size() == WRITE_BATCH) {
+                postStatsService.replace(batch);
+                batch.clear();
+            }
+        }
+        postStatsService.replace(batch);
+
+        System.out.println("Stats backfill before " + until + ": " + posts + " posts into " + counts.size()
+                + " counters in " + (System.currentTimeMillis() - started) + " ms");
+    }
+}
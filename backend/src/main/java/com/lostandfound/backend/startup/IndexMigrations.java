@@ -0,0 +1,66 @@
+package com.lostandfound.backend.startup;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeospatialIndex;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Every index the application relies on. Automatic index creation is off
+ * (spring.data.mongodb.auto-index-creation), so nothing is created while
+ * the context starts; these are ensured during warm-up instead. Creating an
+ * index that already exists is a no-op, so the list can simply grow.
+ */
+@Component
+@Order(0)
+public class IndexMigrations implements WarmUpTask {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public String getName() {
+        return "index-migrations";
+    }
+
+    @Override
+    public void run() {
+        ensure("posts", List.of(
+                new GeospatialIndex("location").typed(GeoSpatialIndexType.GEO_2DSPHERE),
+                new Index("createdAt", Sort.Direction.DESC),
+                new Index("partition", Sort.Direction.ASC),
+                new Index("embeddedAt", Sort.Direction.ASC).sparse()));
+
+        ensure("messages", List.of(
+                new Index("chat.$id", Sort.Direction.ASC),
+                new Index("sentAt", Sort.Direction.ASC)));
+
+        ensure("chats", List.of(
+                new Index("user1.$id", Sort.Direction.ASC),
+                new Index("user2.$id", Sort.Direction.ASC)));
+
+        ensure("users", List.of(
+                new Index("username", Sort.Direction.ASC),
+                new Index("email", Sort.Direction.ASC)));
+
+        ensure("password_reset_tokens", List.of(
+                new Index("email", Sort.Direction.ASC)));
+
+        ensure("post_stats", List.of(
+                new Index().on("precision", Sort.Direction.ASC).on("day", Sort.Direction.ASC)));
+    }
+
+    // By collection name, so DBRef paths like chat.$id are used verbatim
+    private void ensure(String collection, List<IndexDefinition> indexes) {
+        for (IndexDefinition index : indexes) {
+            mongoTemplate.indexOps(collection).ensureIndex(index);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.lostandfound.backend.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lostandfound.backend.model.Post;
+import com.lostandfound.backend.repository.PostRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Reads and serialises the first feed page once, so the connection pool,
+ * the Mongo mapping metadata and Jackson's serializers are set up before
+ * the first real request rather than during it.
+ */
+@Component
+@Order(10)
+public class MongoWarmUp implements WarmUpTask {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public String getName() {
+        return "mongo";
+    }
+
+    @Override
+    public void run() throws Exception {
+        List<Post> page = postRepository.findAll(PageRequest.of(0, 50, Sort.by(Sort.Direction.DESC, "createdAt")))
+                .getContent();
+        objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,102 @@
+package com.lostandfound.backend.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the {@link WarmUpTask}s on a background thread once the application
+ * is up, and reports DOWN as the "warmUp" health contributor until they
+ * have all completed. The readiness group includes it, so instances only
+ * receive traffic once warm.
+ *
+ * Publishes khojsetu.warmup.time (the warm-up alone) and
+ * khojsetu.startup.time (JVM start until warm), next to Spring Boot's own
+ * application.started.time and application.ready.time.
+ */
+@Component("warmUp")
+public class WarmUp implements HealthIndicator {
+
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    @Autowired
+    private List<WarmUpTask> tasks;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile String current = "pending";
+    private volatile boolean done;
+    private volatile long warmUpMs;
+    private volatile long startupMs;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread thread = new Thread(this::runTasks, "warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public Health health() {
+        if (done) {
+            return Health.up().withDetail("warmUpMs", warmUpMs).withDetail("startupMs", startupMs).build();
+        }
+        return Health.down().withDetail("task", current).build();
+    }
+
+    private void runTasks() {
+        long started = System.currentTimeMillis();
+        for (WarmUpTask task : tasks) {
+            current = task.getName();
+            if (!runWithRetry(task)) {
+                return;
+            }
+        }
+
+        long finished = System.currentTimeMillis();
+        warmUpMs = finished - started;
+        startupMs = finished - ManagementFactory.getRuntimeMXBean().getStartTime();
+        TimeGauge.builder("khojsetu.warmup.time", this, TimeUnit.MILLISECONDS, w -> w.warmUpMs)
+                .description("Time taken by the warm-up tasks")
+                .register(meterRegistry);
+        TimeGauge.builder("khojsetu.startup.time", this, TimeUnit.MILLISECONDS, w -> w.startupMs)
+                .description("Time from JVM start until the application is ready for traffic")
+                .register(meterRegistry);
+
+        current = "done";
+        done = true;
+        System.out.println("Warm-up finished in " + warmUpMs + " ms, ready " + startupMs + " ms after JVM start");
+    }
+
+    private boolean runWithRetry(WarmUpTask task) {
+        long backoff = 1_000;
+        while (true) {
+            try {
+                long started = System.currentTimeMillis();
+                task.run();
+                System.out.println("Warm-up task " + task.getName() + " took "
+                        + (System.currentTimeMillis() - started) + " ms");
+                return true;
+            } catch (Exception e) {
+                System.err.println("Warm-up task " + task.getName() + " failed, retrying: " + e.getMessage());
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.lostandfound.backend.startup;
+
+/**
+ * Work done after the application has started but before the readiness probe
+ * reports it healthy. Tasks run in {@link org.springframework.core.annotation.Order}
+ * and must be idempotent: a failed task is retried.
+ */
+public interface WarmUpTask {
+
+    String getName();
+
+    void run() throws Exception;
+}
@@ -0,0 +1,131 @@
+package com.lostandfound.backend.event;
+
+import com.lostandfound.backend.model.Post;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PollingEventFeedTest {
+
+    private static final long INTERVAL_MS = 5;
+    private static final long LOOKBACK_MS = 5000;
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.shutdownNow();
+    }
+
+    @Test
+    void deliversEveryPostWhenMoreThanABatchShareTheLookbackWindow() throws Exception {
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS).minusSeconds(2);
+        List<Post> posts = new ArrayList<>();
+        // 700 posts with the same timestamp, then 500 more within one second
+        for (int i = 0; i < 1200; i++) {
+            posts.add(post("post " + i, i < 700 ? start : start.plusNanos((i - 699) * 2_000_000L)));
+        }
+        mongoTemplate.insertAll(posts);
+
+        try (PollingEventFeed feed = new PollingEventFeed(mongoTemplate, PostCreated.class,
+                start.minusSeconds(1).toString(), INTERVAL_MS, LOOKBACK_MS)) {
+            List<String> delivered = drain(feed);
+            assertEquals(1200, delivered.size());
+            assertEquals(1200, new HashSet<>(delivered).size());
+
+            // The feed keeps moving after the burst
+            Post late = mongoTemplate.insert(post("after the burst", LocalDateTime.now()));
+            assertEquals(List.of(late.getId()), drain(feed));
+        }
+    }
+
+    @Test
+    void resumesAfterTheStoredPosition() throws Exception {
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS).minusSeconds(2);
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            posts.add(post("post " + i, start));
+        }
+        mongoTemplate.insertAll(posts);
+
+        String token;
+        Set<String> first = new HashSet<>();
+        try (PollingEventFeed feed = new PollingEventFeed(mongoTemplate, PostCreated.class,
+                start.minusSeconds(1).toString(), INTERVAL_MS, LOOKBACK_MS)) {
+            DomainEvent event = null;
+            for (int i = 0; i < 550; i++) {
+                event = nextEvent(feed);
+                first.add(((PostCreated) event).getPost().getId());
+            }
+            token = event.getResumeToken();
+        }
+
+        // Everything after the token comes back; the lookback may repeat earlier posts
+        try (PollingEventFeed feed = new PollingEventFeed(mongoTemplate, PostCreated.class, token, INTERVAL_MS,
+                LOOKBACK_MS)) {
+            Set<String> all = new HashSet<>(first);
+            all.addAll(drain(feed));
+            assertEquals(600, all.size());
+        }
+    }
+
+    private static Post post(String title, LocalDateTime createdAt) {
+        Post post = new Post();
+        post.setTitle(title);
+        post.setType(Post.PostType.LOST);
+        post.setCreatedAt(createdAt);
+        return post;
+    }
+
+    private static DomainEvent nextEvent(EventFeed feed) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            DomainEvent event = feed.next();
+            if (event != null) {
+                return event;
+            }
+        }
+        throw new AssertionError("No event delivered");
+    }
+
+    // Reads until several polls in a row come back empty
+    private static List<String> drain(EventFeed feed) throws InterruptedException {
+        List<String> ids = new ArrayList<>();
+        int idle = 0;
+        while (idle < 5) {
+            DomainEvent event = feed.next();
+            if (event == null) {
+                idle++;
+                continue;
+            }
+            idle = 0;
+            ids.add(((PostCreated) event).getPost().getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,111 @@
+package com.lostandfound.backend.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeohashTest {
+
+    @Test
+    void encodesKnownPoint() {
+        assertEquals("u4pruydqqvj", Geohash.encode(57.64911, 10.40744, 11));
+    }
+
+    @Test
+    void coverContainsEveryPointInTheCircle() {
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            double lat = random.nextDouble() * 180 - 90;
+            double lng = random.nextDouble() * 360 - 180;
+            double radius = Math.pow(10, 1 + random.nextDouble() * 5);
+            int precision = 1 + random.nextInt(6);
+            if (Geohash.coverSize(lat, lng, radius, precision) > 2000) {
+                continue;
+            }
+            assertCovers(lat, lng, radius, precision, random);
+        }
+    }
+
+    @Test
+    void coverWrapsAcrossTheAntimeridian() {
+        Set<String> cells = Geohash.cover(0, 179.99, 50_000, 3);
+        assertTrue(cells.contains(Geohash.encode(0, 179.99, 3)));
+        assertTrue(cells.contains(Geohash.encode(0, -179.99, 3)));
+        assertEquals(Geohash.coverSize(0, 179.99, 50_000, 3), cells.size());
+        assertCovers(-10, -179.9, 300_000, 3, new Random(1));
+    }
+
+    @Test
+    void coverAtThePolesSpansEveryLongitude() {
+        Set<String> cells = Geohash.cover(90, 0, 1000, 2);
+        assertEquals(Geohash.coverSize(90, 0, 1000, 2), cells.size());
+        for (double lng = -179.5; lng < 180; lng += 10) {
+            assertTrue(cells.contains(Geohash.encode(89.999, lng, 2)));
+        }
+        assertCovers(-89.9, 45, 50_000, 3, new Random(2));
+    }
+
+    @Test
+    void coverSizeMatchesCover() {
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            double lat = random.nextDouble() * 180 - 90;
+            double lng = random.nextDouble() * 360 - 180;
+            double radius = Math.pow(10, random.nextDouble() * 7);
+            int precision = 1 + random.nextInt(5);
+            long size = Geohash.coverSize(lat, lng, radius, precision);
+            if (size <= 5000) {
+                assertEquals(size, Geohash.cover(lat, lng, radius, precision).size());
+            }
+        }
+    }
+
+    @Test
+    void rejectsInvalidInputWithoutHanging() {
+        double[][] invalid = {
+                { Double.NaN, 0, 1000 },
+                { 0, Double.NaN, 1000 },
+                { 0, 0, Double.NaN },
+                { 0, 1e17, 1000 },
+                { 91, 0, 1000 },
+                { 0, 0, -1 },
+                { 0, 0, Double.POSITIVE_INFINITY },
+        };
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            for (double[] input : invalid) {
+                assertThrows(IllegalArgumentException.class, () -> Geohash.cover(input[0], input[1], input[2], 3));
+                assertThrows(IllegalArgumentException.class,
+                        () -> Geohash.coverSize(input[0], input[1], input[2], 3));
+            }
+            assertThrows(IllegalArgumentException.class,
+                    () -> new GeoSubscriptionIndex<String>().subscribe(Double.NaN, 77.2, 5000, "s"));
+        });
+    }
+
+    // Points sampled inside the circle all fall in covered cells
+    private static void assertCovers(double lat, double lng, double radius, int precision, Random random) {
+        Set<String> cells = Geohash.cover(lat, lng, radius, precision);
+        double dLat = Math.toDegrees(radius / 6_371_000);
+        for (int k = 0; k < 50; k++) {
+            double pointLat = lat + (random.nextDouble() * 2 - 1) * dLat;
+            if (Math.abs(pointLat) > 90) {
+                continue;
+            }
+            double cos = Math.max(1e-6, Math.cos(Math.toRadians(Math.min(89.999, Math.abs(pointLat)))));
+            double pointLng = lng + (random.nextDouble() * 2 - 1) * dLat / cos;
+            pointLng = ((pointLng + 180) % 360 + 360) % 360 - 180;
+            if (Geohash.distanceMeters(lat, lng, pointLat, pointLng) <= radius) {
+                assertTrue(cells.contains(Geohash.encode(pointLat, pointLng, precision)),
+                        "cover(" + lat + ", " + lng + ", " + radius + ", " + precision + ") misses " + pointLat + ", "
+                                + pointLng);
+            }
+        }
+    }
+}